@@ -0,0 +1,86 @@
+package dev.revere.obfuscator.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Writes a synthetic corpus to a folder: {@code input.jar} with the application classes and
+ * resources, and one jar per library under {@code libs/}.
+ * <p>
+ * Usage: {@code CorpusGenerator <folder> [--classCount=20000] [--depth=8] [--fanOut=2] ...}, with
+ * one option per {@link CorpusSpec} knob.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public final class CorpusGenerator {
+    public static final String INPUT_JAR = "input.jar";
+    public static final String LIBS_FOLDER = "libs";
+
+    private CorpusGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: CorpusGenerator <folder> [--knob=value ...]");
+            System.exit(2);
+        }
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --knob=value: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        CorpusSpec spec = CorpusSpec.of(options);
+        Path folder = Paths.get(args[0]);
+        generate(spec, folder);
+        System.out.println("Generated " + spec + " in " + folder.toAbsolutePath());
+    }
+
+    /**
+     * Writes the corpus and returns the input jar.
+     */
+    public static Path generate(CorpusSpec spec, Path folder) throws IOException {
+        Files.createDirectories(folder);
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+        entries.putAll(SyntheticClasses.generate(spec));
+
+        Random random = new Random(spec.getSeed());
+        for (int i = 0; i < spec.getResourceCount(); i++) {
+            entries.put("assets/resource" + i + ".txt", resource(random, spec.getResourceSize()));
+        }
+        Path inputJar = folder.resolve(INPUT_JAR);
+        SyntheticClasses.writeJar(inputJar, entries);
+
+        Path libs = folder.resolve(LIBS_FOLDER);
+        Files.createDirectories(libs);
+        for (int library = 0; library < spec.getLibraryJarCount(); library++) {
+            SyntheticClasses.writeJar(libs.resolve("lib" + library + ".jar"), SyntheticClasses.generateLibrary(spec, library));
+        }
+        return inputJar;
+    }
+
+    /**
+     * Text built from a small vocabulary, so resources compress roughly like real ones.
+     */
+    private static byte[] resource(Random random, int size) {
+        String[] words = {"alpha", "beta", "gamma", "delta", "value", "key", "name", "id", "true", "false", "\n"};
+        StringBuilder text = new StringBuilder(size + 8);
+        while (text.length() < size) {
+            text.append(words[random.nextInt(words.length)]).append(random.nextInt(1000)).append(' ');
+        }
+        text.setLength(size);
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,108 @@
+package dev.revere.obfuscator.benchmarks;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * The shape of a synthetic corpus. Application classes form trees {@code depth} levels deep in
+ * which every class has {@code fanOut} subclasses; the roots extend library classes when there are
+ * library jars.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+@Getter
+@Setter
+public class CorpusSpec {
+    private int classCount = 1000;
+    private int depth = 8;
+    private int fanOut = 1;
+    /**
+     * Fraction of classes, from 0 to 1, that implement one of the generated interfaces.
+     */
+    private double interfaceDensity = 0.25;
+    /**
+     * String constants loaded by each class's main method.
+     */
+    private int stringsPerClass = 4;
+    private int resourceCount = 0;
+    private int resourceSize = 4096;
+    private int libraryJarCount = 0;
+    private int classesPerLibrary = 200;
+    private long seed = 1;
+
+    /**
+     * Applies the entries of {@code values} whose keys name a knob, such as {@code classCount}.
+     */
+    public static CorpusSpec of(Map<String, ?> values) {
+        CorpusSpec spec = new CorpusSpec();
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            String value = String.valueOf(entry.getValue());
+            switch (entry.getKey()) {
+                case "classCount":
+                    spec.setClassCount(parseInt(value));
+                    break;
+                case "depth":
+                    spec.setDepth(parseInt(value));
+                    break;
+                case "fanOut":
+                    spec.setFanOut(parseInt(value));
+                    break;
+                case "interfaceDensity":
+                    spec.setInterfaceDensity(Double.parseDouble(value));
+                    break;
+                case "stringsPerClass":
+                    spec.setStringsPerClass(parseInt(value));
+                    break;
+                case "resourceCount":
+                    spec.setResourceCount(parseInt(value));
+                    break;
+                case "resourceSize":
+                    spec.setResourceSize(parseInt(value));
+                    break;
+                case "libraryJarCount":
+                    spec.setLibraryJarCount(parseInt(value));
+                    break;
+                case "classesPerLibrary":
+                    spec.setClassesPerLibrary(parseInt(value));
+                    break;
+                case "seed":
+                    spec.setSeed((long) Double.parseDouble(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown corpus setting: " + entry.getKey());
+            }
+        }
+        if (spec.classCount < 1 || spec.depth < 1 || spec.fanOut < 1) {
+            throw new IllegalArgumentException("classCount, depth and fanOut must be at least 1");
+        }
+        if (spec.libraryJarCount > 0 && spec.classesPerLibrary < 1) {
+            throw new IllegalArgumentException("classesPerLibrary must be at least 1 when there are libraries");
+        }
+        if (spec.interfaceDensity < 0 || spec.interfaceDensity > 1) {
+            throw new IllegalArgumentException("interfaceDensity must be between 0 and 1");
+        }
+        return spec;
+    }
+
+    @Override
+    public String toString() {
+        return "classes=" + classCount + ", depth=" + depth + ", fanOut=" + fanOut + ", interfaces=" + interfaceDensity
+                + ", strings=" + stringsPerClass + ", resources=" + resourceCount + "x" + resourceSize
+                + ", libraries=" + libraryJarCount + "x" + classesPerLibrary + ", seed=" + seed;
+    }
+
+    /**
+     * Parses integers written as JSON numbers, such as {@code 1000.0}.
+     */
+    private static int parseInt(String value) {
+        double parsed = Double.parseDouble(value);
+        if (parsed != Math.rint(parsed)) {
+            throw new IllegalArgumentException("Expected an integer: " + value);
+        }
+        return (int) parsed;
+    }
+}
@@ -0,0 +1,92 @@
+package dev.revere.obfuscator.benchmarks;
+
+import dev.revere.obfuscator.hierarchy.Hierarchy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.objectweb.asm.tree.ClassNode;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to build the hierarchy of a pool and to answer subtype and method resolution queries on it,
+ * for inheritance chains of increasing depth. The query benchmarks report the time per query.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HierarchyBenchmark {
+    private static final int CLASS_COUNT = 4096;
+
+    @Param({"1", "8", "64"})
+    private int depth;
+
+    private List<ClassNode> classNodes;
+    private Hierarchy hierarchy;
+    private int[] leafIds;
+    private int[] rootIds;
+    private int describeSignature;
+
+    @Setup
+    public void setUp() {
+        classNodes = SyntheticClasses.parse(SyntheticClasses.generate(CLASS_COUNT, depth));
+        hierarchy = build();
+        describeSignature = hierarchy.getSignatureId("describe", "()Ljava/lang/String;");
+
+        int chains = (CLASS_COUNT + depth - 1) / depth;
+        leafIds = new int[chains];
+        rootIds = new int[chains];
+        for (int chain = 0; chain < chains; chain++) {
+            int root = chain * depth;
+            int leaf = Math.min(root + depth, CLASS_COUNT) - 1;
+            rootIds[chain] = hierarchy.getId(SyntheticClasses.name(root));
+            leafIds[chain] = hierarchy.getId(SyntheticClasses.name(leaf));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 20)
+    public Hierarchy build() {
+        Hierarchy built = new Hierarchy();
+        for (ClassNode classNode : classNodes) {
+            built.addClass(classNode);
+        }
+        built.buildHierarchy();
+        return built;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLASS_COUNT)
+    public void isSubtypeOf(Blackhole blackhole) {
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            int chain = i % leafIds.length;
+            blackhole.consume(hierarchy.isSubtypeOf(leafIds[chain], rootIds[chain]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLASS_COUNT)
+    public void resolveMethod(Blackhole blackhole) {
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            blackhole.consume(hierarchy.resolveMethod(leafIds[i % leafIds.length], describeSignature));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLASS_COUNT)
+    public void ancestors(Blackhole blackhole) {
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            blackhole.consume(hierarchy.getAncestorIds(leafIds[i % leafIds.length]));
+        }
+    }
+}
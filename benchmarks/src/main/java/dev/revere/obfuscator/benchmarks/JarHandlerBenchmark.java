@@ -0,0 +1,78 @@
+package dev.revere.obfuscator.benchmarks;
+
+import dev.revere.obfuscator.concurrent.WorkerPool;
+import dev.revere.obfuscator.jar.EntryCompressor;
+import dev.revere.obfuscator.jar.JarHandler;
+import dev.revere.obfuscator.jar.ZipArchive;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of reading the classes of a jar and writing an output jar, in jars per second.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JarHandlerBenchmark {
+
+    @Param({"500", "5000"})
+    private int classCount;
+
+    @Param({"1", "4"})
+    private int workers;
+
+    private Path folder;
+    private Path inputJar;
+    private Path outputJar;
+    private WorkerPool workerPool;
+    private JarHandler jarHandler;
+    private ZipArchive archive;
+    private Map<String, byte[]> classes;
+
+    @Setup
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("jar-benchmark");
+        inputJar = folder.resolve("input.jar");
+        outputJar = folder.resolve("output.jar");
+        SyntheticClasses.writeJar(inputJar, SyntheticClasses.generate(classCount, 8));
+
+        workerPool = new WorkerPool(workers);
+        jarHandler = new JarHandler(workerPool, new EntryCompressor(-1, 0), true);
+        archive = jarHandler.openArchive(inputJar);
+        classes = jarHandler.readClasses(archive);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        archive.close();
+        workerPool.shutdown();
+        Files.deleteIfExists(inputJar);
+        Files.deleteIfExists(outputJar);
+        Files.deleteIfExists(folder);
+    }
+
+    @Benchmark
+    public Map<String, byte[]> read() throws IOException {
+        try (ZipArchive input = jarHandler.openArchive(inputJar)) {
+            return jarHandler.readClasses(input);
+        }
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        jarHandler.writeJar(outputJar, classes, Collections.emptyList(), archive);
+    }
+}
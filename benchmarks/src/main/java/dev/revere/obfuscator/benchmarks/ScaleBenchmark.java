@@ -0,0 +1,309 @@
+package dev.revere.obfuscator.benchmarks;
+
+import dev.revere.obfuscator.ObfuscationEngine;
+import dev.revere.obfuscator.config.Configuration;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Runs the whole obfuscation pipeline on generated corpora and compares wall time, peak resident
+ * memory and output size with a baseline file.
+ * <p>
+ * Every run happens in a fresh JVM, so peak memory covers exactly one obfuscation and JIT state
+ * never carries over. After measuring, the run loads and initializes every output class against
+ * the corpus libraries, so a pipeline producing classes that fail verification fails the benchmark
+ * instead of being timed. Each scenario is run several times and the median is compared; a metric
+ * more than its threshold above the baseline is reported as a regression and makes the process
+ * exit with status 1.
+ * <p>
+ * Usage: {@code ScaleBenchmark [--baseline=benchmarks/scale-baseline.json] [--work=target/scale]
+ * [--report=file] [--runs=3] [--scenario=name] [--update-baseline]}
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public final class ScaleBenchmark {
+    private static final String RESULT_PREFIX = "SCALE-RESULT ";
+    private static final String[] METRICS = {"wallMillis", "peakRssBytes", "outputBytes"};
+    private static final double DEFAULT_THRESHOLD = 0.2;
+
+    private ScaleBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--run")) {
+            runOnce(Paths.get(args[1]), Paths.get(args[2]), Paths.get(args[3]));
+            return;
+        }
+
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            options.put(separator < 0 ? arg : arg.substring(0, separator), separator < 0 ? "" : arg.substring(separator + 1));
+        }
+        Path baselinePath = Paths.get(options.getOrDefault("--baseline", "benchmarks/scale-baseline.json"));
+        Path work = Paths.get(options.getOrDefault("--work", "target/scale"));
+        int runs = Integer.parseInt(options.getOrDefault("--runs", "3"));
+        String only = options.get("--scenario");
+        boolean update = options.containsKey("--update-baseline");
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> baseline = (Map<String, Object>) Json.parse(new String(Files.readAllBytes(baselinePath), StandardCharsets.UTF_8));
+        Map<String, Double> thresholds = thresholds(baseline);
+
+        List<Object> results = new ArrayList<>();
+        int regressions = 0;
+        for (Object entry : (List<?>) baseline.get("scenarios")) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> scenario = (Map<String, Object>) entry;
+            String name = (String) scenario.get("name");
+            if (only != null && !only.equals(name)) {
+                continue;
+            }
+
+            Map<String, Object> measured = measure(scenario, work.resolve(name), runs);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> expected = (Map<String, Object>) scenario.getOrDefault("baseline", Collections.emptyMap());
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("name", name);
+            result.put("measured", measured);
+            List<Object> regressed = new ArrayList<>();
+            System.out.println("Scenario " + name + ":");
+            for (String metric : METRICS) {
+                double value = ((Number) measured.get(metric)).doubleValue();
+                Number reference = (Number) expected.get(metric);
+                String line = String.format(Locale.ROOT, "  %-14s %,16.0f", metric, value);
+                if (reference != null && reference.doubleValue() > 0 && value >= 0) {
+                    double change = value / reference.doubleValue() - 1;
+                    boolean regression = change > thresholds.get(metric);
+                    line += String.format(Locale.ROOT, "  baseline %,16.0f  %+7.1f%%%s", reference.doubleValue(), change * 100,
+                            regression ? "  REGRESSION" : "");
+                    if (regression) {
+                        regressed.add(metric);
+                    }
+                }
+                System.out.println(line);
+            }
+            result.put("regressions", regressed);
+            results.add(result);
+            regressions += regressed.size();
+
+            if (update) {
+                scenario.put("baseline", measured);
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("runs", runs);
+        report.put("thresholds", thresholds);
+        report.put("scenarios", results);
+        Path reportPath = Paths.get(options.getOrDefault("--report", work.resolve("scale-report.json").toString()));
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        Files.write(reportPath, Json.write(report).getBytes(StandardCharsets.UTF_8));
+        System.out.println("Wrote " + reportPath);
+
+        if (update) {
+            Files.write(baselinePath, Json.write(baseline).getBytes(StandardCharsets.UTF_8));
+            System.out.println("Updated baseline " + baselinePath);
+        } else if (regressions > 0) {
+            System.out.println(regressions + " metric(s) regressed beyond their threshold");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Double> thresholds(Map<String, Object> baseline) {
+        Object configured = baseline.get("thresholds");
+        Map<String, Double> thresholds = new LinkedHashMap<>();
+        for (String metric : METRICS) {
+            Object value = configured instanceof Map ? ((Map<?, ?>) configured).get(metric) : null;
+            thresholds.put(metric, value instanceof Number ? ((Number) value).doubleValue() : DEFAULT_THRESHOLD);
+        }
+        return thresholds;
+    }
+
+    /**
+     * Generates the scenario's corpus unless it is already in {@code folder}, then obfuscates it
+     * {@code runs} times and returns the median of each metric.
+     */
+    private static Map<String, Object> measure(Map<String, Object> scenario, Path folder, int runs) throws IOException, InterruptedException {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> corpus = (Map<String, Object>) scenario.getOrDefault("corpus", Collections.emptyMap());
+        CorpusSpec spec = CorpusSpec.of(corpus);
+        Path specFile = folder.resolve("corpus.txt");
+        Path inputJar = folder.resolve(CorpusGenerator.INPUT_JAR);
+        if (!Files.isRegularFile(specFile) || !new String(Files.readAllBytes(specFile), StandardCharsets.UTF_8).equals(spec.toString())
+                || !Files.isRegularFile(inputJar)) {
+            System.out.println("Generating corpus " + spec);
+            CorpusGenerator.generate(spec, folder);
+            Files.write(specFile, spec.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        Properties properties = new Properties();
+        for (String transformer : new String[]{"AsciiArt", "MethodTransformer", "StringTransformer", "FieldTransformer"}) {
+            properties.setProperty("transformers." + transformer + ".enabled", "true");
+        }
+        properties.setProperty("transformers.MethodTransformer.custom.method-exclusions", "<init>,<clinit>");
+        properties.setProperty("libs.folder", folder.resolve(CorpusGenerator.LIBS_FOLDER).toString());
+        properties.setProperty("libs.index-folder", folder.resolve("library-index").toString());
+        properties.setProperty("seed", "1");
+        Object settings = scenario.get("settings");
+        if (settings instanceof Map) {
+            for (Map.Entry<?, ?> setting : ((Map<?, ?>) settings).entrySet()) {
+                Object value = setting.getValue();
+                properties.setProperty(String.valueOf(setting.getKey()), value instanceof Number
+                        ? String.valueOf(((Number) value).longValue()) : String.valueOf(value));
+            }
+        }
+        Path configFile = folder.resolve("config.properties");
+        try (java.io.Writer writer = Files.newBufferedWriter(configFile, StandardCharsets.UTF_8)) {
+            properties.store(writer, "Generated by ScaleBenchmark");
+        }
+
+        List<String> jvmArgs = new ArrayList<>();
+        Object configuredArgs = scenario.get("jvmArgs");
+        if (configuredArgs instanceof List) {
+            for (Object arg : (List<?>) configuredArgs) {
+                jvmArgs.add(String.valueOf(arg));
+            }
+        }
+
+        Map<String, List<Double>> samples = new LinkedHashMap<>();
+        for (int run = 0; run < runs; run++) {
+            Map<String, Object> sample = fork(jvmArgs, configFile, inputJar, folder.resolve("output.jar"));
+            for (String metric : METRICS) {
+                samples.computeIfAbsent(metric, k -> new ArrayList<>()).add(((Number) sample.get(metric)).doubleValue());
+            }
+        }
+        Map<String, Object> medians = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Double>> entry : samples.entrySet()) {
+            List<Double> values = entry.getValue();
+            Collections.sort(values);
+            medians.put(entry.getKey(), (double) Math.round(values.get(values.size() / 2)));
+        }
+        return medians;
+    }
+
+    private static Map<String, Object> fork(List<String> jvmArgs, Path configFile, Path inputJar, Path outputJar) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ScaleBenchmark.class.getName());
+        command.add("--run");
+        command.add(configFile.toString());
+        command.add(inputJar.toString());
+        command.add(outputJar.toString());
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String result = null;
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    result = line.substring(RESULT_PREFIX.length());
+                } else {
+                    output.append(line).append(System.lineSeparator());
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        if (exitCode != 0 || result == null) {
+            throw new IOException("Obfuscation run failed with exit code " + exitCode + ":" + System.lineSeparator() + output);
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> sample = (Map<String, Object>) Json.parse(result);
+        return sample;
+    }
+
+    /**
+     * The forked side: obfuscates once and prints its measurements on a single line.
+     */
+    private static void runOnce(Path configFile, Path inputJar, Path outputJar) throws Exception {
+        Configuration config = Configuration.loadFromFile(configFile.toString());
+        long start = System.nanoTime();
+        new ObfuscationEngine(config).obfuscate(inputJar, outputJar);
+        long wallNanos = System.nanoTime() - start;
+
+        Map<String, Object> sample = new LinkedHashMap<>();
+        sample.put("wallMillis", wallNanos / 1_000_000.0);
+        sample.put("peakRssBytes", peakRssBytes());
+        sample.put("outputBytes", Files.size(outputJar));
+        verify(outputJar, config.getLibraryPaths());
+        System.out.println(RESULT_PREFIX + Json.write(sample).replace("\n", ""));
+    }
+
+    /**
+     * Loads, links and initializes every class of the output jar in its own class loader, and fails
+     * with the first error when any class does not verify.
+     */
+    private static void verify(Path outputJar, List<String> libraryPaths) throws IOException {
+        List<URL> urls = new ArrayList<>();
+        urls.add(outputJar.toUri().toURL());
+        for (String libraryPath : libraryPaths) {
+            urls.add(Paths.get(libraryPath).toUri().toURL());
+        }
+        List<String> classNames = new ArrayList<>();
+        try (JarFile jar = new JarFile(outputJar.toFile())) {
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                String entryName = entries.nextElement().getName();
+                if (entryName.endsWith(".class") && !entryName.endsWith("module-info.class")) {
+                    classNames.add(entryName.substring(0, entryName.length() - ".class".length()).replace('/', '.'));
+                }
+            }
+        }
+
+        int failed = 0;
+        String firstError = null;
+        try (URLClassLoader loader = new URLClassLoader(urls.toArray(new URL[0]), null)) {
+            for (String className : classNames) {
+                try {
+                    Class.forName(className, true, loader);
+                } catch (ClassNotFoundException | LinkageError e) {
+                    failed++;
+                    if (firstError == null) {
+                        firstError = className + ": " + e;
+                    }
+                }
+            }
+        }
+        if (failed > 0) {
+            throw new IllegalStateException(failed + " of " + classNames.size() + " output classes failed to load, first " + firstError);
+        }
+    }
+
+    /**
+     * The high-water mark of resident memory from {@code /proc/self/status}, or -1 when the
+     * platform does not provide it.
+     */
+    private static long peakRssBytes() throws IOException {
+        File status = new File("/proc/self/status");
+        if (!status.isFile()) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status.toPath(), StandardCharsets.UTF_8)) {
+            if (line.startsWith("VmHWM:")) {
+                String[] parts = line.substring("VmHWM:".length()).trim().split("\\s+");
+                return Long.parseLong(parts[0]) * 1024;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,249 @@
+package dev.revere.obfuscator.benchmarks;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Generates classes shaped like application code, so benchmarks run without any real jar. Each
+ * class overrides and calls its parent's methods, reads its own fields and loads string constants;
+ * some implement a generated interface. Every {@code work} method branches into paths that leave
+ * the class itself or a new instance of its parent on the stack, so recomputing its frames has to
+ * find their common superclass. The output only depends on the {@link CorpusSpec}.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public final class SyntheticClasses {
+    private static final int PACKAGES = 16;
+    private static final int FIELDS = 3;
+    private static final int CLASSES_PER_INTERFACE = 50;
+    private static final String OBJECT = "java/lang/Object";
+
+    private SyntheticClasses() {
+    }
+
+    /**
+     * Returns {@code classCount} classes in chains of {@code depth}, with the other knobs of
+     * {@link CorpusSpec} at their defaults.
+     */
+    public static Map<String, byte[]> generate(int classCount, int depth) {
+        CorpusSpec spec = new CorpusSpec();
+        spec.setClassCount(classCount);
+        spec.setDepth(depth);
+        return generate(spec);
+    }
+
+    /**
+     * Returns the application classes and interfaces of a corpus keyed by jar entry name. Classes
+     * are numbered tree by tree in breadth-first order, so with a fan-out of 1 every class extends
+     * the class numbered just before it, except for the first class of each chain.
+     */
+    public static Map<String, byte[]> generate(CorpusSpec spec) {
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        int interfaceCount = interfaceCount(spec);
+        for (int i = 0; i < interfaceCount; i++) {
+            classes.put(interfaceName(i) + ".class", generateInterface(interfaceName(i)));
+        }
+
+        long treeSize = treeSize(spec);
+        Random random = new Random(spec.getSeed());
+        for (int i = 0; i < spec.getClassCount(); i++) {
+            int local = (int) (i % treeSize);
+            String parent;
+            if (local > 0) {
+                parent = name(i - local + (local - 1) / spec.getFanOut());
+            } else if (spec.getLibraryJarCount() > 0) {
+                int tree = (int) (i / treeSize);
+                parent = libraryName(tree % spec.getLibraryJarCount(), tree % spec.getClassesPerLibrary());
+            } else {
+                parent = OBJECT;
+            }
+            String itf = interfaceCount > 0 && random.nextDouble() < spec.getInterfaceDensity()
+                    ? interfaceName(random.nextInt(interfaceCount)) : null;
+            classes.put(name(i) + ".class", generateClass(i, name(i), parent, itf, spec.getStringsPerClass()));
+        }
+        return classes;
+    }
+
+    /**
+     * Returns the classes of one library jar. Library classes extend {@code Object} and declare the
+     * methods application classes override.
+     */
+    public static Map<String, byte[]> generateLibrary(CorpusSpec spec, int library) {
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        for (int i = 0; i < spec.getClassesPerLibrary(); i++) {
+            String name = libraryName(library, i);
+            classes.put(name + ".class", generateClass(i, name, OBJECT, null, 1));
+        }
+        return classes;
+    }
+
+    public static String name(int index) {
+        return "bench/p" + (index % PACKAGES) + "/C" + index;
+    }
+
+    public static List<ClassNode> parse(Map<String, byte[]> classes) {
+        List<ClassNode> classNodes = new ArrayList<>(classes.size());
+        for (byte[] bytes : classes.values()) {
+            ClassNode classNode = new ClassNode();
+            new ClassReader(bytes).accept(classNode, 0);
+            classNodes.add(classNode);
+        }
+        return classNodes;
+    }
+
+    public static void writeJar(Path path, Map<String, byte[]> entries) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path); JarOutputStream jar = new JarOutputStream(out)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                jar.putNextEntry(new JarEntry(entry.getKey()));
+                jar.write(entry.getValue());
+                jar.closeEntry();
+            }
+        }
+    }
+
+    private static String interfaceName(int index) {
+        return "bench/api/I" + index;
+    }
+
+    private static String libraryName(int library, int index) {
+        return "lib" + library + "/L" + index;
+    }
+
+    private static int interfaceCount(CorpusSpec spec) {
+        if (spec.getInterfaceDensity() <= 0) {
+            return 0;
+        }
+        return Math.max(1, spec.getClassCount() / CLASSES_PER_INTERFACE);
+    }
+
+    /**
+     * The number of classes in one tree, capped at the class count.
+     */
+    private static long treeSize(CorpusSpec spec) {
+        long size = 0;
+        long level = 1;
+        for (int i = 0; i < spec.getDepth() && size < spec.getClassCount(); i++) {
+            size += level;
+            level = Math.min(level * spec.getFanOut(), spec.getClassCount());
+        }
+        return Math.min(size, spec.getClassCount());
+    }
+
+    private static byte[] generateInterface(String name) {
+        ClassWriter cw = new ClassWriter(0);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_INTERFACE | Opcodes.ACC_ABSTRACT, name, null, OBJECT, null);
+        cw.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "apply", "(I)I", null, null).visitEnd();
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] generateClass(int index, String name, String parent, String itf, int strings) {
+        boolean root = parent.equals(OBJECT);
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, null, parent,
+                itf == null ? null : new String[]{itf});
+        for (int f = 0; f < FIELDS; f++) {
+            cw.visitField(Opcodes.ACC_PRIVATE, "field" + f, "I", null, null).visitEnd();
+        }
+        cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, "LABEL", "Ljava/lang/String;", null,
+                "label of class " + index).visitEnd();
+
+        MethodVisitor init = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, parent, "<init>", "()V", false);
+        for (int f = 0; f < FIELDS; f++) {
+            init.visitVarInsn(Opcodes.ALOAD, 0);
+            init.visitLdcInsn(index * 31 + f);
+            init.visitFieldInsn(Opcodes.PUTFIELD, name, "field" + f, "I");
+        }
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        MethodVisitor work = cw.visitMethod(Opcodes.ACC_PUBLIC, "work", "(I)I", null, null);
+        work.visitCode();
+        Label other = new Label();
+        Label merge = new Label();
+        work.visitVarInsn(Opcodes.ILOAD, 1);
+        work.visitJumpInsn(Opcodes.IFLT, other);
+        work.visitVarInsn(Opcodes.ALOAD, 0);
+        work.visitJumpInsn(Opcodes.GOTO, merge);
+        work.visitLabel(other);
+        work.visitFrame(Opcodes.F_NEW, 2, new Object[]{name, Opcodes.INTEGER}, 0, new Object[0]);
+        work.visitTypeInsn(Opcodes.NEW, parent);
+        work.visitInsn(Opcodes.DUP);
+        work.visitMethodInsn(Opcodes.INVOKESPECIAL, parent, "<init>", "()V", false);
+        work.visitLabel(merge);
+        work.visitFrame(Opcodes.F_NEW, 2, new Object[]{name, Opcodes.INTEGER}, 1, new Object[]{parent});
+        work.visitMethodInsn(Opcodes.INVOKEVIRTUAL, OBJECT, "hashCode", "()I", false);
+        work.visitVarInsn(Opcodes.ILOAD, 1);
+        work.visitInsn(Opcodes.IADD);
+        for (int f = 0; f < FIELDS; f++) {
+            work.visitVarInsn(Opcodes.ALOAD, 0);
+            work.visitFieldInsn(Opcodes.GETFIELD, name, "field" + f, "I");
+            work.visitInsn(Opcodes.IADD);
+        }
+        for (int s = 0; s < strings; s++) {
+            work.visitLdcInsn("constant " + s + " of class " + index);
+            work.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "length", "()I", false);
+            work.visitInsn(Opcodes.IADD);
+        }
+        if (!root) {
+            work.visitVarInsn(Opcodes.ALOAD, 0);
+            work.visitVarInsn(Opcodes.ILOAD, 1);
+            work.visitMethodInsn(Opcodes.INVOKESPECIAL, parent, "work", "(I)I", false);
+            work.visitInsn(Opcodes.IADD);
+        }
+        work.visitVarInsn(Opcodes.ILOAD, 1);
+        work.visitMethodInsn(Opcodes.INVOKESTATIC, name, "helper" + index, "(I)I", false);
+        work.visitInsn(Opcodes.IADD);
+        work.visitInsn(Opcodes.IRETURN);
+        work.visitMaxs(0, 0);
+        work.visitEnd();
+
+        if (itf != null) {
+            MethodVisitor apply = cw.visitMethod(Opcodes.ACC_PUBLIC, "apply", "(I)I", null, null);
+            apply.visitCode();
+            apply.visitVarInsn(Opcodes.ALOAD, 0);
+            apply.visitVarInsn(Opcodes.ILOAD, 1);
+            apply.visitMethodInsn(Opcodes.INVOKEVIRTUAL, name, "work", "(I)I", false);
+            apply.visitInsn(Opcodes.IRETURN);
+            apply.visitMaxs(0, 0);
+            apply.visitEnd();
+        }
+
+        MethodVisitor describe = cw.visitMethod(Opcodes.ACC_PUBLIC, "describe", "()Ljava/lang/String;", null, null);
+        describe.visitCode();
+        describe.visitFieldInsn(Opcodes.GETSTATIC, name, "LABEL", "Ljava/lang/String;");
+        describe.visitInsn(Opcodes.ARETURN);
+        describe.visitMaxs(0, 0);
+        describe.visitEnd();
+
+        MethodVisitor helper = cw.visitMethod(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, "helper" + index, "(I)I", null, null);
+        helper.visitCode();
+        helper.visitVarInsn(Opcodes.ILOAD, 0);
+        helper.visitLdcInsn(index);
+        helper.visitInsn(Opcodes.IXOR);
+        helper.visitInsn(Opcodes.IRETURN);
+        helper.visitMaxs(0, 0);
+        helper.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+}
@@ -0,0 +1,89 @@
+package dev.revere.obfuscator.benchmarks;
+
+import dev.revere.obfuscator.concurrent.WorkerPool;
+import dev.revere.obfuscator.config.Configuration;
+import dev.revere.obfuscator.exception.ObfuscationException;
+import dev.revere.obfuscator.hierarchy.Hierarchy;
+import dev.revere.obfuscator.pool.ClassPool;
+import dev.revere.obfuscator.transformer.AbstractTransformer;
+import dev.revere.obfuscator.transformer.TransformerFilter;
+import dev.revere.obfuscator.transformer.TransformerManager;
+import dev.revere.obfuscator.transformer.TransformerPipeline;
+import dev.revere.obfuscator.transformer.context.TransformerContext;
+import org.objectweb.asm.tree.ClassNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of each transformer on its own, in classes per second. Every invocation starts from a
+ * freshly parsed pool with its hierarchy built, so only the transformer's phases are measured.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransformerBenchmark {
+    private static final int CLASS_COUNT = 1000;
+
+    @Param({"MethodTransformer", "FieldTransformer", "StringTransformer", "AsciiArt"})
+    private String transformerName;
+
+    @Param({"1", "4"})
+    private int workers;
+
+    private Map<String, byte[]> classes;
+    private Configuration config;
+    private WorkerPool workerPool;
+    private TransformerPipeline pipeline;
+
+    private AbstractTransformer transformer;
+    private ClassPool classPool;
+    private TransformerContext context;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        classes = SyntheticClasses.generate(CLASS_COUNT, 8);
+        config = new Configuration();
+        config.setTransformerEnabled(transformerName, true);
+        config.setSeed(1L);
+        workerPool = new WorkerPool(workers);
+        pipeline = new TransformerPipeline(config, workerPool);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        transformer = new TransformerManager(config).getTransformer(transformerName);
+        classPool = ClassPool.parse(classes, workerPool);
+        context = new TransformerContext(classPool);
+        context.setSeed(config.getSeed());
+        context.setFilter(TransformerFilter.compile(config, Collections.singletonList(transformerName)));
+
+        Hierarchy hierarchy = new Hierarchy();
+        for (ClassNode classNode : classPool.getClassNodes()) {
+            hierarchy.addClass(classNode);
+        }
+        hierarchy.buildHierarchy();
+        context.setHierarchy(hierarchy);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        workerPool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLASS_COUNT)
+    public ClassPool transform() throws ObfuscationException {
+        pipeline.run(Collections.singletonList(transformer), classPool, context);
+        return classPool;
+    }
+}
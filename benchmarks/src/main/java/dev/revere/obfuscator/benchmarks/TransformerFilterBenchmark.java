@@ -0,0 +1,90 @@
+package dev.revere.obfuscator.benchmarks;
+
+import dev.revere.obfuscator.config.Configuration;
+import dev.revere.obfuscator.transformer.TransformerFilter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of filter decisions as the number of inclusion and exclusion patterns grows: compiling the
+ * patterns, deciding for classes seen for the first time, and repeating decisions already cached.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransformerFilterBenchmark {
+    private static final int CLASS_COUNT = 4096;
+    private static final List<String> TRANSFORMERS = Arrays.asList("MethodTransformer", "FieldTransformer", "StringTransformer", "AsciiArt");
+
+    @Param({"10", "100", "1000"})
+    private int patternCount;
+
+    private Configuration config;
+    private String[] classNames;
+    private TransformerFilter warmFilter;
+
+    @Setup
+    public void setUp() {
+        config = new Configuration();
+        for (int i = 0; i < patternCount; i++) {
+            switch (i % 4) {
+                case 0:
+                    config.addGlobalExclusion("com.vendor" + i + ".**");
+                    break;
+                case 1:
+                    config.addGlobalInclusion("bench.p" + (i % 16) + ".C" + i + "*");
+                    break;
+                case 2:
+                    config.addExclusion(TRANSFORMERS.get(i % TRANSFORMERS.size()), "bench.p" + (i % 16) + ".C?" + i);
+                    break;
+                default:
+                    config.addInclusion(TRANSFORMERS.get(i % TRANSFORMERS.size()), "^bench.p" + (i % 16) + ".C" + i);
+                    break;
+            }
+        }
+
+        classNames = new String[CLASS_COUNT];
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            classNames[i] = SyntheticClasses.name(i).replace('/', '.');
+        }
+        warmFilter = TransformerFilter.compile(config, TRANSFORMERS);
+        decideAll(warmFilter, null);
+    }
+
+    @Benchmark
+    public TransformerFilter compile() {
+        return TransformerFilter.compile(config, TRANSFORMERS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLASS_COUNT)
+    public void coldDecisions(Blackhole blackhole) {
+        decideAll(TransformerFilter.compile(config, TRANSFORMERS), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLASS_COUNT)
+    public void cachedDecisions(Blackhole blackhole) {
+        decideAll(warmFilter, blackhole);
+    }
+
+    private void decideAll(TransformerFilter filter, Blackhole blackhole) {
+        for (int i = 0; i < classNames.length; i++) {
+            boolean decision = filter.shouldTransform(classNames[i], TRANSFORMERS.get(i % TRANSFORMERS.size()));
+            if (blackhole != null) {
+                blackhole.consume(decision);
+            }
+        }
+    }
+}
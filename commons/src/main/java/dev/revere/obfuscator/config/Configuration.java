@@ -4,10 +4,13 @@ import dev.revere.obfuscator.logging.Logger;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 /**
@@ -22,11 +25,26 @@ public class Configuration {
     private Map<String, List<String>> inclusions;
     private Map<String, List<String>> exclusions;
     private Map<String, Map<String, Object>> customSettings;
+    private Map<String, TransformerSettings> transformerSettings;
 
     private List<String> globalInclusions;
     private List<String> globalExclusions;
     private List<String> libraryPaths;
 
+    private int workerCount;
+    private boolean streamingEnabled;
+    private int compressionLevel;
+    private int storeThreshold;
+    private String cacheFolder;
+    private Long seed;
+    private int libraryCacheSize;
+    private String libraryIndexFolder;
+    private boolean loggingAsync;
+    private String loggingFile;
+    private String metricsReport;
+    private String profileFile;
+    private String profileReport;
+
     public Configuration() {
         this.enabledTransformers = new HashMap<>();
         this.globalInclusions = new ArrayList<>();
@@ -35,6 +53,10 @@ public class Configuration {
         this.inclusions = new HashMap<>();
         this.exclusions = new HashMap<>();
         this.customSettings = new HashMap<>();
+        this.transformerSettings = new HashMap<>();
+        this.workerCount = 1;
+        this.compressionLevel = -1;
+        this.libraryCacheSize = 4096;
     }
 
     public static Configuration loadFromFile(String filePath) throws IOException {
@@ -99,6 +121,73 @@ public class Configuration {
             config.addGlobalExclusion(pattern.trim());
         }
 
+        Integer workers = parseInteger(props, "parallel.workers");
+        if (workers != null) {
+            config.setWorkerCount(workers);
+        }
+
+        config.setStreamingEnabled(Boolean.parseBoolean(props.getProperty("streaming.enabled", "false")));
+
+        Integer compressionLevel = parseInteger(props, "output.compression-level");
+        if (compressionLevel != null) {
+            if (compressionLevel < -1 || compressionLevel > 9) {
+                LOGGER.warning("Invalid compression level, expected -1 to 9: " + compressionLevel);
+            } else {
+                config.setCompressionLevel(compressionLevel);
+            }
+        }
+
+        Integer storeThreshold = parseInteger(props, "output.store-threshold");
+        if (storeThreshold != null) {
+            config.setStoreThreshold(storeThreshold);
+        }
+
+        String seed = props.getProperty("seed");
+        if (seed != null && !seed.trim().isEmpty()) {
+            try {
+                config.setSeed(Long.parseLong(seed.trim()));
+            } catch (NumberFormatException e) {
+                LOGGER.warning("Invalid seed, expected a long: " + seed);
+            }
+        }
+
+        String cacheFolder = props.getProperty("incremental.cache-folder");
+        if (cacheFolder != null && !cacheFolder.trim().isEmpty()) {
+            config.setCacheFolder(cacheFolder.trim());
+        }
+
+        Integer libraryCacheSize = parseInteger(props, "libs.header-cache-size");
+        if (libraryCacheSize != null) {
+            config.setLibraryCacheSize(libraryCacheSize);
+        }
+
+        String libraryIndexFolder = props.getProperty("libs.index-folder");
+        if (libraryIndexFolder != null && !libraryIndexFolder.trim().isEmpty()) {
+            config.setLibraryIndexFolder(libraryIndexFolder.trim());
+        }
+
+        config.setLoggingAsync(Boolean.parseBoolean(props.getProperty("logging.async", "false")));
+
+        String loggingFile = props.getProperty("logging.file");
+        if (loggingFile != null && !loggingFile.trim().isEmpty()) {
+            config.setLoggingFile(loggingFile.trim());
+        }
+
+        String metricsReport = props.getProperty("metrics.report");
+        if (metricsReport != null && !metricsReport.trim().isEmpty()) {
+            config.setMetricsReport(metricsReport.trim());
+        }
+
+        String profileFile = props.getProperty("profile.file");
+        if (profileFile != null && !profileFile.trim().isEmpty()) {
+            config.setProfileFile(profileFile.trim());
+        }
+
+        String profileReport = props.getProperty("profile.report");
+        if (profileReport != null && !profileReport.trim().isEmpty()) {
+            config.setProfileReport(profileReport.trim());
+        }
+
         String libsFolderPath = props.getProperty("libs.folder");
         if (libsFolderPath != null && !libsFolderPath.isEmpty()) {
             config.loadLibraries(Paths.get(libsFolderPath));
@@ -108,6 +197,19 @@ public class Configuration {
         return config;
     }
 
+    private static Integer parseInteger(Properties props, String key) {
+        String value = props.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warning("Invalid integer for " + key + ": " + value);
+            return null;
+        }
+    }
+
     private void loadLibraries(Path libsFolder) throws IOException {
         LOGGER.process("Loading libraries from: " + libsFolder);
 
@@ -144,11 +246,11 @@ public class Configuration {
     }
 
     public List<String> getInclusions(String transformerName) {
-        return inclusions.getOrDefault(transformerName, new ArrayList<>());
+        return inclusions.getOrDefault(transformerName, Collections.emptyList());
     }
 
     public List<String> getExclusions(String transformerName) {
-        return exclusions.getOrDefault(transformerName, new ArrayList<>());
+        return exclusions.getOrDefault(transformerName, Collections.emptyList());
     }
 
     public void addGlobalInclusion(String pattern) {
@@ -175,6 +277,190 @@ public class Configuration {
         return Collections.unmodifiableList(libraryPaths);
     }
 
+    /**
+     * Number of worker threads used for reading, parsing and writing classes. A value of 1 keeps
+     * everything on the calling thread, 0 or less uses one worker per available processor.
+     */
+    public void setWorkerCount(int workerCount) {
+        this.workerCount = workerCount;
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    /**
+     * When enabled, transformers that only do local rewrites are chained as visitors over the raw
+     * class bytes instead of operating on a ClassNode tree.
+     */
+    public void setStreamingEnabled(boolean streamingEnabled) {
+        this.streamingEnabled = streamingEnabled;
+    }
+
+    public boolean isStreamingEnabled() {
+        return streamingEnabled;
+    }
+
+    /**
+     * Deflate level for entries written to the output jar, from 0 to 9, or -1 for the zlib default.
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * Entries of at most this many bytes are stored uncompressed. 0 compresses everything.
+     */
+    public void setStoreThreshold(int storeThreshold) {
+        this.storeThreshold = storeThreshold;
+    }
+
+    public int getStoreThreshold() {
+        return storeThreshold;
+    }
+
+    /**
+     * Folder of the incremental cache, or {@code null} when every run starts from scratch.
+     */
+    public void setCacheFolder(String cacheFolder) {
+        this.cacheFolder = cacheFolder;
+    }
+
+    public String getCacheFolder() {
+        return cacheFolder;
+    }
+
+    /**
+     * Seed for every random choice the transformers make. When set, the same input and configuration
+     * always produce a byte-identical jar; when {@code null}, every run is different.
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Maximum number of library class headers kept in memory for frame computation.
+     */
+    public void setLibraryCacheSize(int libraryCacheSize) {
+        this.libraryCacheSize = libraryCacheSize;
+    }
+
+    public int getLibraryCacheSize() {
+        return libraryCacheSize;
+    }
+
+    /**
+     * Folder of the persistent library indexes, or {@code null} to read library jars on every run.
+     */
+    public void setLibraryIndexFolder(String libraryIndexFolder) {
+        this.libraryIndexFolder = libraryIndexFolder;
+    }
+
+    public String getLibraryIndexFolder() {
+        return libraryIndexFolder;
+    }
+
+    /**
+     * Whether log messages are written by a background thread instead of the thread logging them.
+     */
+    public void setLoggingAsync(boolean loggingAsync) {
+        this.loggingAsync = loggingAsync;
+    }
+
+    public boolean isLoggingAsync() {
+        return loggingAsync;
+    }
+
+    /**
+     * File log messages are written to instead of standard output, or {@code null}.
+     */
+    public void setLoggingFile(String loggingFile) {
+        this.loggingFile = loggingFile;
+    }
+
+    public String getLoggingFile() {
+        return loggingFile;
+    }
+
+    /**
+     * File the JSON performance report of each run is written to, or {@code null} for no report.
+     */
+    public void setMetricsReport(String metricsReport) {
+        this.metricsReport = metricsReport;
+    }
+
+    public String getMetricsReport() {
+        return metricsReport;
+    }
+
+    /**
+     * A method hotness file or JFR recording of the unobfuscated application, or {@code null}.
+     * Transformers with a runtime cost leave the methods it shows as hot alone.
+     */
+    public void setProfileFile(String profileFile) {
+        this.profileFile = profileFile;
+    }
+
+    public String getProfileFile() {
+        return profileFile;
+    }
+
+    public void setProfileReport(String profileReport) {
+        this.profileReport = profileReport;
+    }
+
+    public String getProfileReport() {
+        return profileReport;
+    }
+
+    /**
+     * Returns a hash of every setting that influences the transformed classes. Output and threading
+     * settings are left out since they do not change what the transformers produce.
+     */
+    public String getFingerprint() {
+        StringBuilder builder = new StringBuilder()
+                .append(new TreeMap<>(enabledTransformers))
+                .append(new TreeMap<>(inclusions))
+                .append(new TreeMap<>(exclusions))
+                .append(globalInclusions)
+                .append(globalExclusions)
+                .append(libraryPaths)
+                .append(streamingEnabled)
+                .append(seed)
+                .append(profileFile);
+        if (profileFile != null) {
+            try {
+                Path profilePath = Paths.get(profileFile);
+                builder.append(Files.size(profilePath)).append(Files.getLastModifiedTime(profilePath).toMillis());
+            } catch (IOException e) {
+                builder.append("missing");
+            }
+        }
+        for (Map.Entry<String, Map<String, Object>> entry : new TreeMap<>(customSettings).entrySet()) {
+            builder.append(entry.getKey()).append(new TreeMap<>(entry.getValue()));
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(builder.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     public void addCustomSetting(String transformerName, String settingName, String value) {
         customSettings.computeIfAbsent(transformerName, k -> new HashMap<>()).put(settingName, value);
     }
@@ -186,4 +472,22 @@ public class Configuration {
     public Map<String, Object> getCustomSettings(String transformerName) {
         return Collections.unmodifiableMap(customSettings.getOrDefault(transformerName, Collections.emptyMap()));
     }
+
+    /**
+     * Parses and validates the custom settings of a transformer against the keys it declares.
+     * Called once per transformer when the transformers are registered.
+     */
+    public TransformerSettings compileSettings(String transformerName, Collection<SettingKey<?>> keys) {
+        TransformerSettings settings = TransformerSettings.compile(transformerName, getCustomSettings(transformerName), keys);
+        transformerSettings.put(transformerName, settings);
+        return settings;
+    }
+
+    public TransformerSettings getSettings(String transformerName) {
+        TransformerSettings settings = transformerSettings.get(transformerName);
+        if (settings == null) {
+            throw new IllegalStateException("Settings of " + transformerName + " were not compiled");
+        }
+        return settings;
+    }
 }
@@ -0,0 +1,70 @@
+package dev.revere.obfuscator.config;
+
+import dev.revere.obfuscator.util.GlobMatcher;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A typed custom setting of a transformer, read from {@code transformers.<name>.custom.<key>}.
+ * The raw string is parsed once when the transformer's {@link TransformerSettings} are compiled;
+ * the parser throws {@link IllegalArgumentException} for values it rejects.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public final class SettingKey<T> {
+    private final String name;
+    private final T defaultValue;
+    private final Function<String, T> parser;
+
+    private SettingKey(String name, T defaultValue, Function<String, T> parser) {
+        this.name = name;
+        this.defaultValue = defaultValue;
+        this.parser = parser;
+    }
+
+    public static <T> SettingKey<T> of(String name, T defaultValue, Function<String, T> parser) {
+        return new SettingKey<>(name, defaultValue, parser);
+    }
+
+    public static SettingKey<Double> decimal(String name, double defaultValue, double min, double max) {
+        return of(name, defaultValue, value -> {
+            double parsed = Double.parseDouble(value.trim());
+            if (!(parsed >= min && parsed <= max)) {
+                throw new IllegalArgumentException("expected " + min + " to " + max);
+            }
+            return parsed;
+        });
+    }
+
+    /**
+     * A comma-separated list of globs in which {@code *} and {@code ?} match any character.
+     */
+    public static SettingKey<GlobMatcher> patterns(String name) {
+        return of(name, GlobMatcher.compile(Collections.emptyList()), value -> GlobMatcher.compile(split(value)));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public T getDefaultValue() {
+        return defaultValue;
+    }
+
+    T parse(String value) {
+        return parser.apply(value);
+    }
+
+    private static List<String> split(String value) {
+        List<String> entries = new ArrayList<>();
+        for (String entry : value.split(",")) {
+            if (!entry.trim().isEmpty()) {
+                entries.add(entry.trim());
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,62 @@
+package dev.revere.obfuscator.config;
+
+import dev.revere.obfuscator.logging.Logger;
+
+import java.util.*;
+
+/**
+ * The custom settings of one transformer, parsed into their declared types when the configuration
+ * is loaded. Invalid values and keys the transformer does not declare are reported once, at
+ * compile time, and invalid values fall back to their default. Instances are immutable, so
+ * transformers can read them from any thread without parsing anything.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public final class TransformerSettings {
+    private static final Logger LOGGER = Logger.getLogger(TransformerSettings.class.getName());
+
+    private final String transformerName;
+    private final Map<SettingKey<?>, Object> values;
+
+    private TransformerSettings(String transformerName, Map<SettingKey<?>, Object> values) {
+        this.transformerName = transformerName;
+        this.values = values;
+    }
+
+    public static TransformerSettings compile(String transformerName, Map<String, Object> rawSettings,
+                                              Collection<SettingKey<?>> keys) {
+        Map<SettingKey<?>, Object> values = new IdentityHashMap<>();
+        Set<String> declared = new HashSet<>();
+        for (SettingKey<?> key : keys) {
+            declared.add(key.getName());
+            Object raw = rawSettings.get(key.getName());
+            Object value = key.getDefaultValue();
+            if (raw != null) {
+                try {
+                    value = key.parse(raw.toString());
+                } catch (IllegalArgumentException e) {
+                    LOGGER.warning("Invalid value for " + transformerName + "." + key.getName() + ": " + raw
+                            + " (" + e.getMessage() + "), using the default");
+                }
+            }
+            values.put(key, value);
+        }
+
+        for (String name : new TreeSet<>(rawSettings.keySet())) {
+            if (!declared.contains(name)) {
+                LOGGER.warning("Unknown setting for transformer " + transformerName + ": " + name);
+            }
+        }
+        return new TransformerSettings(transformerName, Collections.unmodifiableMap(values));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(SettingKey<T> key) {
+        if (!values.containsKey(key)) {
+            throw new IllegalArgumentException("Setting " + key.getName() + " is not declared by " + transformerName);
+        }
+        return (T) values.get(key);
+    }
+}
@@ -0,0 +1,120 @@
+package dev.revere.obfuscator.logging;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands messages to a background thread through a fixed ring buffer, so logging threads never
+ * format or block on output. Logging threads claim a slot with a single atomic increment, fill it
+ * and publish it; the background thread formats every published message into reused buffers and
+ * flushes the output once per batch. When the buffer is full, logging threads wait for the
+ * background thread instead of dropping messages.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class AsyncAppender implements LogAppender {
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+    private static final long FULL_PARK_NANOS = 10_000L;
+
+    private final StreamAppender output;
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final Thread worker;
+    private volatile long consumed;
+    private volatile boolean closed;
+
+    /**
+     * @param capacity the number of messages the buffer holds, rounded up to a power of two
+     */
+    public AsyncAppender(StreamAppender output, int capacity) {
+        this.output = output;
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.worker = new Thread(this::drain, "log-appender");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void append(LogLevel level, String loggerName, String message, long timestamp) {
+        long sequence = claimed.getAndIncrement();
+        while (sequence - consumed >= slots.length) {
+            if (!worker.isAlive()) {
+                return;
+            }
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.level = level;
+        slot.loggerName = loggerName;
+        slot.message = message;
+        slot.timestamp = timestamp;
+        slot.published = sequence;
+    }
+
+    private void drain() {
+        long next = 0;
+        while (true) {
+            int batch = 0;
+            Slot slot;
+            while ((slot = slots[(int) (next & mask)]).published == next) {
+                try {
+                    output.write(slot.level, slot.loggerName, slot.message, slot.timestamp);
+                } catch (IOException e) {
+                    System.err.println("Failed to write log message: " + e.getMessage());
+                }
+                slot.loggerName = null;
+                slot.message = null;
+                next++;
+                if ((++batch & 63) == 0) {
+                    consumed = next;
+                }
+            }
+            consumed = next;
+
+            if (batch > 0) {
+                try {
+                    output.flush();
+                } catch (IOException e) {
+                    System.err.println("Failed to flush log output: " + e.getMessage());
+                }
+            } else if (closed && claimed.get() == next) {
+                return;
+            } else {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Waits for every message appended before this call to be written, then closes the output.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        output.close();
+    }
+
+    private static final class Slot {
+        private volatile long published = -1;
+        private LogLevel level;
+        private String loggerName;
+        private String message;
+        private long timestamp;
+    }
+}
@@ -0,0 +1,18 @@
+package dev.revere.obfuscator.logging;
+
+/**
+ * Receives every message that passed the level check of a {@link Logger}.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public interface LogAppender {
+
+    void append(LogLevel level, String loggerName, String message, long timestamp);
+
+    /**
+     * Writes out every message appended so far and releases the output.
+     */
+    void close();
+}
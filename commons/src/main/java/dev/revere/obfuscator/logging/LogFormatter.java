@@ -0,0 +1,55 @@
+package dev.revere.obfuscator.logging;
+
+import java.util.TimeZone;
+
+/**
+ * Formats log lines into a caller-owned buffer, so appenders can reuse one buffer for every line.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+final class LogFormatter {
+    private static final String RESET = "\u001B[0m";
+    private static final TimeZone ZONE = TimeZone.getDefault();
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private LogFormatter() {
+    }
+
+    static void format(StringBuilder out, LogLevel level, String loggerName, String message, long timestamp, boolean color) {
+        if (color) {
+            out.append(level.getColor());
+        }
+        int secondOfDay = (int) (Math.floorMod(timestamp + ZONE.getOffset(timestamp), MILLIS_PER_DAY) / 1000);
+        appendTwoDigits(out, secondOfDay / 3600);
+        out.append(':');
+        appendTwoDigits(out, secondOfDay / 60 % 60);
+        out.append(':');
+        appendTwoDigits(out, secondOfDay % 60);
+        out.append(" | ").append(level.getSymbol()).append(' ').append(level.name())
+                .append(" | ").append(loggerName).append(": ").append(message);
+        if (color) {
+            out.append(RESET);
+        }
+    }
+
+    /**
+     * Substitutes each {@code {}} in the pattern with the next argument.
+     */
+    static String substitute(String pattern, Object... args) {
+        StringBuilder out = new StringBuilder(pattern.length() + 16 * args.length);
+        int argument = 0;
+        int start = 0;
+        int placeholder;
+        while (argument < args.length && (placeholder = pattern.indexOf("{}", start)) >= 0) {
+            out.append(pattern, start, placeholder).append(args[argument++]);
+            start = placeholder + 2;
+        }
+        return out.append(pattern, start, pattern.length()).toString();
+    }
+
+    private static void appendTwoDigits(StringBuilder out, int value) {
+        out.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+}
@@ -2,20 +2,22 @@ package dev.revere.obfuscator.logging;
 
 import dev.revere.obfuscator.Environment;
 
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
 
 /**
+ * Every message is checked against the current level before anything else happens. The
+ * {@link Supplier} overloads and the overloads taking a pattern with {@code {}} placeholders
+ * only build their message when it will be written, so they cost a level check when it is not.
+ *
  * @author Remi
  * @project revere-java-obfuscator
  * @date 10/18/2024
  */
 
 public class Logger {
-    private static final String RESET = "\u001B[0m";
-    private static final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
-    private static LogLevel currentLevel = LogLevel.SUCCESS;
-    private static boolean useColor = true;
+    private static volatile LogLevel currentLevel = LogLevel.SUCCESS;
+    private static volatile boolean useColor = true;
+    private static volatile LogAppender appender = StreamAppender.console();
 
     private final String name;
 
@@ -35,50 +37,163 @@ public class Logger {
         Logger.useColor = useColor;
     }
 
-    private void log(LogLevel level, String message) {
-        if (level.ordinal() <= currentLevel.ordinal()) {
-            String formattedMessage = formatMessage(level, message);
-            System.out.println(formattedMessage);
-        }
+    public static boolean isUseColor() {
+        return useColor;
+    }
+
+    /**
+     * Replaces the appender and returns the previous one, which the caller is responsible for
+     * closing.
+     */
+    public static LogAppender setAppender(LogAppender newAppender) {
+        LogAppender previous = appender;
+        appender = newAppender;
+        return previous;
     }
 
-    private String formatMessage(LogLevel level, String message) {
-        LocalTime time = LocalTime.now();
-        String formattedTime = time.format(timeFormatter);
-        String colorStart = useColor ? level.getColor() : "";
-        String colorEnd = useColor ? RESET : "";
+    public static boolean isEnabled(LogLevel level) {
+        return level.ordinal() <= currentLevel.ordinal() && (level != LogLevel.DEBUG || Environment.DEBUG);
+    }
 
-        return String.format("%s%s | %s %s | %s: %s%s",
-                colorStart, formattedTime, level.getSymbol(), level.name(), name, message, colorEnd);
+    private void log(LogLevel level, String message) {
+        if (isEnabled(level)) {
+            appender.append(level, name, message, System.currentTimeMillis());
+        }
     }
 
     public void severe(String message) {
         log(LogLevel.SEVERE, message);
     }
 
+    public void severe(Supplier<String> message) {
+        if (isEnabled(LogLevel.SEVERE)) {
+            log(LogLevel.SEVERE, message.get());
+        }
+    }
+
+    public void severe(String pattern, Object... arguments) {
+        if (isEnabled(LogLevel.SEVERE)) {
+            log(LogLevel.SEVERE, LogFormatter.substitute(pattern, arguments));
+        }
+    }
+
     public void warning(String message) {
         log(LogLevel.WARNING, message);
     }
 
+    public void warning(Supplier<String> message) {
+        if (isEnabled(LogLevel.WARNING)) {
+            log(LogLevel.WARNING, message.get());
+        }
+    }
+
+    public void warning(String pattern, Object... arguments) {
+        if (isEnabled(LogLevel.WARNING)) {
+            log(LogLevel.WARNING, LogFormatter.substitute(pattern, arguments));
+        }
+    }
+
     public void success(String message) {
         log(LogLevel.SUCCESS, message);
     }
 
+    public void success(Supplier<String> message) {
+        if (isEnabled(LogLevel.SUCCESS)) {
+            log(LogLevel.SUCCESS, message.get());
+        }
+    }
+
+    public void success(String pattern, Object... arguments) {
+        if (isEnabled(LogLevel.SUCCESS)) {
+            log(LogLevel.SUCCESS, LogFormatter.substitute(pattern, arguments));
+        }
+    }
+
     public void config(String message) {
         log(LogLevel.CONFIG, message);
     }
 
+    public void config(Supplier<String> message) {
+        if (isEnabled(LogLevel.CONFIG)) {
+            log(LogLevel.CONFIG, message.get());
+        }
+    }
+
+    public void config(String pattern, Object... arguments) {
+        if (isEnabled(LogLevel.CONFIG)) {
+            log(LogLevel.CONFIG, LogFormatter.substitute(pattern, arguments));
+        }
+    }
+
     public void process(String message) {
         log(LogLevel.INFO, message);
     }
 
+    public void process(Supplier<String> message) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, message.get());
+        }
+    }
+
+    public void process(String pattern, Object... arguments) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, LogFormatter.substitute(pattern, arguments));
+        }
+    }
+
     public void debug(String message) {
-        if (Environment.DEBUG) {
-            log(LogLevel.DEBUG, message);
+        log(LogLevel.DEBUG, message);
+    }
+
+    public void debug(Supplier<String> message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, message.get());
+        }
+    }
+
+    public void debug(String pattern, Object argument) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, LogFormatter.substitute(pattern, argument));
+        }
+    }
+
+    public void debug(String pattern, Object first, Object second) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, LogFormatter.substitute(pattern, first, second));
+        }
+    }
+
+    public void debug(String pattern, Object... arguments) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, LogFormatter.substitute(pattern, arguments));
         }
     }
 
     public void finest(String message) {
         log(LogLevel.FINEST, message);
     }
-}
\ No newline at end of file
+
+    public void finest(Supplier<String> message) {
+        if (isEnabled(LogLevel.FINEST)) {
+            log(LogLevel.FINEST, message.get());
+        }
+    }
+
+    public void finest(String pattern, Object argument) {
+        if (isEnabled(LogLevel.FINEST)) {
+            log(LogLevel.FINEST, LogFormatter.substitute(pattern, argument));
+        }
+    }
+
+    public void finest(String pattern, Object first, Object second) {
+        if (isEnabled(LogLevel.FINEST)) {
+            log(LogLevel.FINEST, LogFormatter.substitute(pattern, first, second));
+        }
+    }
+
+    public void finest(String pattern, Object... arguments) {
+        if (isEnabled(LogLevel.FINEST)) {
+            log(LogLevel.FINEST, LogFormatter.substitute(pattern, arguments));
+        }
+    }
+}
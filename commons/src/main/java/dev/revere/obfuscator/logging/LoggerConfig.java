@@ -1,11 +1,16 @@
 package dev.revere.obfuscator.logging;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+
 /**
  * @author Remi
  * @project revere-java-obfuscator
  * @date 10/18/2024
  */
 public class LoggerConfig {
+    private static final int ASYNC_BUFFER_SIZE = 8192;
+
     private static boolean configured = false;
 
     public static synchronized void configureLogger() {
@@ -16,4 +21,21 @@ public class LoggerConfig {
 
         configured = true;
     }
-}
\ No newline at end of file
+
+    /**
+     * Sends messages to {@code file}, or to standard output when it is {@code null}, writing them
+     * on a background thread when {@code async} is set.
+     */
+    public static synchronized void configureOutput(boolean async, String file) throws IOException {
+        StreamAppender output = file == null ? StreamAppender.console() : StreamAppender.file(Paths.get(file));
+        LogAppender appender = async ? new AsyncAppender(output, ASYNC_BUFFER_SIZE) : output;
+        Logger.setAppender(appender).close();
+    }
+
+    /**
+     * Writes out every pending message and goes back to logging synchronously to standard output.
+     */
+    public static synchronized void shutdown() {
+        Logger.setAppender(StreamAppender.console()).close();
+    }
+}
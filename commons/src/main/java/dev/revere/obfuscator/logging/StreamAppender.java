@@ -0,0 +1,89 @@
+package dev.revere.obfuscator.logging;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes each message to a stream as soon as it is logged, on the logging thread.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class StreamAppender implements LogAppender {
+    private final Writer writer;
+    private final boolean color;
+    private final boolean closeWriter;
+    private final StringBuilder line = new StringBuilder(256);
+    private char[] chars = new char[256];
+
+    StreamAppender(Writer writer, boolean color, boolean closeWriter) {
+        this.writer = writer;
+        this.color = color;
+        this.closeWriter = closeWriter;
+    }
+
+    /**
+     * An appender for standard output, colored unless {@link Logger#setUseColor} turned colors off.
+     */
+    public static StreamAppender console() {
+        return new StreamAppender(new BufferedWriter(new OutputStreamWriter(System.out)), true, false);
+    }
+
+    public static StreamAppender file(Path path) throws IOException {
+        return new StreamAppender(openFile(path), false, true);
+    }
+
+    static Writer openFile(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    @Override
+    public synchronized void append(LogLevel level, String loggerName, String message, long timestamp) {
+        try {
+            write(level, loggerName, message, timestamp);
+            writer.flush();
+        } catch (IOException e) {
+            System.err.println("Failed to write log message: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Formats one line into the reused buffers and hands it to the writer without flushing.
+     */
+    void write(LogLevel level, String loggerName, String message, long timestamp) throws IOException {
+        line.setLength(0);
+        LogFormatter.format(line, level, loggerName, message, timestamp, color && Logger.isUseColor());
+        line.append(System.lineSeparator());
+        if (chars.length < line.length()) {
+            chars = new char[Math.max(line.length(), chars.length * 2)];
+        }
+        line.getChars(0, line.length(), chars, 0);
+        writer.write(chars, 0, line.length());
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (closeWriter) {
+                writer.close();
+            } else {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to close log output: " + e.getMessage());
+        }
+    }
+}
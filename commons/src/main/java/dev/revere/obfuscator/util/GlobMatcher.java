@@ -0,0 +1,188 @@
+package dev.revere.obfuscator.util;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Matches a string against a whole set of glob patterns in one pass. {@code ?} matches a single
+ * character and {@code *} any run of characters, both except separators; {@code **} matches any
+ * run of characters including separators. Every other character matches itself.
+ * <p>
+ * The patterns are compiled into one automaton whose deterministic states are built lazily, the
+ * first time an input reaches them, and then shared by every later match. Matching is safe from
+ * any number of threads.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public final class GlobMatcher {
+    private static final int ASCII = 128;
+    private static final int ANY = -1;
+    private static final int STAR = -2;
+    private static final int DOUBLE_STAR = -3;
+    private static final int[] NONE = new int[0];
+
+    private final List<String> patterns;
+    private final String separators;
+    private final int[][] tokens;
+    private final int[] offsets;
+    private final int stateCount;
+    private final Map<BitSet, State> states = new ConcurrentHashMap<>();
+    private final State start;
+
+    private GlobMatcher(List<String> patterns, String separators) {
+        this.patterns = Collections.unmodifiableList(new ArrayList<>(patterns));
+        this.separators = separators;
+        this.tokens = new int[patterns.size()][];
+        this.offsets = new int[patterns.size()];
+
+        int count = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = tokenize(patterns.get(i));
+            offsets[i] = count;
+            count += tokens[i].length + 1;
+        }
+        this.stateCount = count;
+
+        BitSet initial = new BitSet(stateCount);
+        for (int i = 0; i < tokens.length; i++) {
+            addClosure(initial, i, 0);
+        }
+        this.start = intern(initial);
+    }
+
+    /**
+     * Compiles patterns in which {@code *} and {@code ?} match any character.
+     */
+    public static GlobMatcher compile(Collection<String> patterns) {
+        return compile(patterns, "");
+    }
+
+    /**
+     * Compiles patterns in which {@code *} and {@code ?} never match any of {@code separators}.
+     */
+    public static GlobMatcher compile(Collection<String> patterns, String separators) {
+        return new GlobMatcher(new ArrayList<>(patterns), separators);
+    }
+
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * Returns the indices of every pattern that matches the whole input, in ascending order.
+     */
+    public int[] match(String input) {
+        State state = run(input);
+        return state == null ? NONE : state.accepted;
+    }
+
+    public boolean matches(String input) {
+        return match(input).length > 0;
+    }
+
+    private State run(String input) {
+        State state = start;
+        for (int i = 0; i < input.length(); i++) {
+            state = state.next(input.charAt(i));
+            if (state.dead) {
+                return null;
+            }
+        }
+        return state;
+    }
+
+    private static int[] tokenize(String pattern) {
+        int[] patternTokens = new int[pattern.length()];
+        int length = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*') {
+                boolean isDouble = i + 1 < pattern.length() && pattern.charAt(i + 1) == '*';
+                while (i + 1 < pattern.length() && pattern.charAt(i + 1) == '*') {
+                    i++;
+                }
+                patternTokens[length++] = isDouble ? DOUBLE_STAR : STAR;
+            } else if (c == '?') {
+                patternTokens[length++] = ANY;
+            } else {
+                patternTokens[length++] = c;
+            }
+        }
+        return Arrays.copyOf(patternTokens, length);
+    }
+
+    private void addClosure(BitSet set, int pattern, int position) {
+        int[] patternTokens = tokens[pattern];
+        set.set(offsets[pattern] + position);
+        while (position < patternTokens.length && (patternTokens[position] == STAR || patternTokens[position] == DOUBLE_STAR)) {
+            position++;
+            set.set(offsets[pattern] + position);
+        }
+    }
+
+    private State intern(BitSet set) {
+        State state = states.get(set);
+        if (state != null) {
+            return state;
+        }
+        State created = new State(set);
+        State existing = states.putIfAbsent(set, created);
+        return existing != null ? existing : created;
+    }
+
+    private State step(BitSet from, char c) {
+        boolean separator = separators.indexOf(c) >= 0;
+        BitSet to = new BitSet(stateCount);
+        for (int pattern = 0; pattern < tokens.length; pattern++) {
+            int[] patternTokens = tokens[pattern];
+            int base = offsets[pattern];
+            for (int position = from.nextSetBit(base); position >= 0 && position < base + patternTokens.length;
+                 position = from.nextSetBit(position + 1)) {
+                int index = position - base;
+                int token = patternTokens[index];
+                if (token == DOUBLE_STAR || (token == STAR && !separator)) {
+                    addClosure(to, pattern, index);
+                } else if ((token == ANY && !separator) || token == c) {
+                    addClosure(to, pattern, index + 1);
+                }
+            }
+        }
+        return intern(to);
+    }
+
+    private final class State {
+        private final BitSet set;
+        private final int[] accepted;
+        private final boolean dead;
+        private final AtomicReferenceArray<State> asciiTransitions = new AtomicReferenceArray<>(ASCII);
+        private final Map<Character, State> transitions = new ConcurrentHashMap<>();
+
+        State(BitSet set) {
+            this.set = set;
+            this.dead = set.isEmpty();
+            int count = 0;
+            int[] accepting = new int[tokens.length];
+            for (int pattern = 0; pattern < tokens.length; pattern++) {
+                if (set.get(offsets[pattern] + tokens[pattern].length)) {
+                    accepting[count++] = pattern;
+                }
+            }
+            this.accepted = count == 0 ? NONE : Arrays.copyOf(accepting, count);
+        }
+
+        State next(char c) {
+            if (c < ASCII) {
+                State next = asciiTransitions.get(c);
+                if (next == null) {
+                    next = step(set, c);
+                    asciiTransitions.set(c, next);
+                }
+                return next;
+            }
+            return transitions.computeIfAbsent(c, key -> step(set, key));
+        }
+    }
+}
@@ -1,22 +1,24 @@
 package dev.revere.obfuscator.util;
 
-import java.util.regex.Pattern;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Matches single glob patterns, in which {@code *} and {@code ?} match any character. Each
+ * pattern is compiled into a {@link GlobMatcher} once and reused.
+ *
  * @author Remi
  * @project revere-java-obfuscator
  * @date 10/18/2024
  */
 public class PatternMatcher {
+    private static final Map<String, GlobMatcher> COMPILED = new ConcurrentHashMap<>();
+
     public static boolean matches(String pattern, String input) {
         if (pattern.equals("*")) {
             return true;
         }
-
-        String regexPattern = pattern
-                .replace(".", "\\.")
-                .replace("*", ".*")
-                .replace("?", ".");
-        return Pattern.matches(regexPattern, input);
+        return COMPILED.computeIfAbsent(pattern, key -> GlobMatcher.compile(Collections.singletonList(key))).matches(input);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package dev.revere.obfuscator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The version of this obfuscator, written into {@code build.properties} by Maven, and a
+ * fingerprint of the code it runs.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public final class BuildInfo {
+    private static final String VERSION = load();
+    private static String fingerprint;
+
+    private BuildInfo() {
+    }
+
+    public static String getVersion() {
+        return VERSION;
+    }
+
+    /**
+     * Identifies the build by its version and the content of the class files it was loaded from, so
+     * output produced by other code is never mistaken for this build's, while rebuilding unchanged
+     * code keeps matching. Computed on first use.
+     */
+    public static synchronized String getFingerprint() {
+        if (fingerprint == null) {
+            String contentHash;
+            try {
+                contentHash = hashClasses();
+            } catch (IOException | URISyntaxException | RuntimeException e) {
+                contentHash = "unknown";
+            }
+            fingerprint = VERSION + "+" + contentHash;
+        }
+        return fingerprint;
+    }
+
+    /**
+     * The SHA-256 over the names and bytes of every class file in the jar or folder this class was
+     * loaded from, in name order. Zip metadata such as entry times does not take part.
+     */
+    private static String hashClasses() throws IOException, URISyntaxException {
+        CodeSource codeSource = BuildInfo.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null) {
+            return "unknown";
+        }
+        Path location = Paths.get(codeSource.getLocation().toURI());
+        MessageDigest digest = sha256();
+        if (Files.isDirectory(location)) {
+            List<Path> classFiles = new ArrayList<>();
+            try (Stream<Path> files = Files.walk(location)) {
+                files.filter(path -> path.toString().endsWith(".class")).forEach(classFiles::add);
+            }
+            Collections.sort(classFiles);
+            for (Path classFile : classFiles) {
+                digest.update(location.relativize(classFile).toString().getBytes(StandardCharsets.UTF_8));
+                digest.update(Files.readAllBytes(classFile));
+            }
+        } else {
+            try (ZipFile zip = new ZipFile(location.toFile())) {
+                List<ZipEntry> classEntries = new ArrayList<>();
+                Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    if (entry.getName().endsWith(".class")) {
+                        classEntries.add(entry);
+                    }
+                }
+                classEntries.sort(Comparator.comparing(ZipEntry::getName));
+                byte[] buffer = new byte[8192];
+                for (ZipEntry entry : classEntries) {
+                    digest.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        int read;
+                        while ((read = in.read(buffer)) != -1) {
+                            digest.update(buffer, 0, read);
+                        }
+                    }
+                }
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String load() {
+        Properties properties = new Properties();
+        try (InputStream in = BuildInfo.class.getResourceAsStream("build.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException ignored) {
+            // Fall through to the unknown version
+        }
+        return properties.getProperty("version", "unknown");
+    }
+}
@@ -1,24 +1,30 @@
 package dev.revere.obfuscator;
 
-import dev.revere.obfuscator.classloader.ClassLoaderProvider;
+import dev.revere.obfuscator.cache.IncrementalCache;
+import dev.revere.obfuscator.concurrent.WorkerPool;
 import dev.revere.obfuscator.config.Configuration;
 import dev.revere.obfuscator.exception.ObfuscationException;
-import dev.revere.obfuscator.hierarchy.Hierarchy;
+import dev.revere.obfuscator.hierarchy.LibraryIndex;
+import dev.revere.obfuscator.hierarchy.SupertypeResolver;
+import dev.revere.obfuscator.jar.EntryCompressor;
 import dev.revere.obfuscator.jar.JarHandler;
+import dev.revere.obfuscator.jar.ZipArchive;
 import dev.revere.obfuscator.logging.Logger;
+import dev.revere.obfuscator.metrics.MetricsRegistry;
+import dev.revere.obfuscator.metrics.Timer;
+import dev.revere.obfuscator.pool.ClassPool;
+import dev.revere.obfuscator.profile.MethodProfile;
+import dev.revere.obfuscator.profile.ProfileReport;
 import dev.revere.obfuscator.transformer.AbstractTransformer;
+import dev.revere.obfuscator.transformer.TransformerFilter;
 import dev.revere.obfuscator.transformer.TransformerManager;
+import dev.revere.obfuscator.transformer.TransformerPipeline;
 import dev.revere.obfuscator.transformer.context.TransformerContext;
-import org.objectweb.asm.ClassReader;
-import org.objectweb.asm.ClassWriter;
-import org.objectweb.asm.tree.ClassNode;
 
-import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 /**
@@ -26,110 +32,111 @@ import java.util.*;
  * @project revere-java-obfuscator
  * @date 10/18/2024
  */
-public class JarProcessor implements ClassLoaderProvider {
+public class JarProcessor {
     private static final Logger LOGGER = Logger.getLogger(JarProcessor.class.getName());
 
     private final JarHandler jarHandler;
     private final TransformerManager transformerManager;
     private final Configuration config;
-
-    private URLClassLoader classLoader;
+    private final WorkerPool workerPool;
+    private final TransformerPipeline pipeline;
 
     public JarProcessor(Configuration config, TransformerManager transformerManager) {
         this.config = config;
         this.transformerManager = transformerManager;
-        this.jarHandler = new JarHandler();
+        this.workerPool = new WorkerPool(config.getWorkerCount());
+        this.jarHandler = new JarHandler(workerPool, new EntryCompressor(config.getCompressionLevel(), config.getStoreThreshold()),
+                config.getSeed() != null);
+        this.pipeline = new TransformerPipeline(config, workerPool);
     }
 
-    public void process(Path inputPath, Path outputPath) throws ObfuscationException, IOException {
-        createClassLoader(inputPath);
-
-        try {
-            Thread.currentThread().setContextClassLoader(classLoader);
-            Map<String, byte[]> classes = jarHandler.readClasses(inputPath);
-            Set<String> resourceEntries = jarHandler.readResourceEntries(inputPath);
-
-            Hierarchy hierarchy = buildHierarchy(classes);
+    public void process(Path inputPath, Path outputPath, MetricsRegistry metrics) throws ObfuscationException, IOException {
+        try (ZipArchive archive = jarHandler.openArchive(inputPath);
+             LibraryIndex libraryIndex = LibraryIndex.create(config.getLibraryPaths(), config.getLibraryCacheSize(),
+                     config.getLibraryIndexFolder())) {
+            List<ZipArchive.Entry> resourceEntries;
+            Map<String, byte[]> inputClasses;
+            try (Timer.Sample ignored = metrics.time("read")) {
+                resourceEntries = jarHandler.readResourceEntries(archive);
+                inputClasses = jarHandler.readClasses(archive);
+            }
+            metrics.count("jar.bytes-in", Files.size(inputPath));
+            metrics.count("jar.classes", inputClasses.size());
+            metrics.count("jar.resources", resourceEntries.size());
+
+            ClassPool classPool = ClassPool.of(inputClasses);
+            TransformerContext context = new TransformerContext(classPool);
+            context.setSeed(config.getSeed());
+            context.setLibraryIndex(libraryIndex);
+            context.setMetrics(metrics);
+            if (config.getProfileFile() != null) {
+                try (Timer.Sample ignored = metrics.time("profile.load")) {
+                    MethodProfile profile = MethodProfile.load(Paths.get(config.getProfileFile()),
+                            owner -> inputClasses.containsKey(owner + ".class"));
+                    context.setProfile(profile);
+                    LOGGER.process("Loaded a profile of {} samples from {}", profile.getTotalSamples(), config.getProfileFile());
+                }
+            }
 
-            TransformerContext context = new TransformerContext(hierarchy);
+            IncrementalCache cache = null;
+            if (config.getCacheFolder() != null) {
+                try (Timer.Sample ignored = metrics.time("cache.load")) {
+                    String fingerprint = IncrementalCache.fingerprint(config.getFingerprint(), BuildInfo.getFingerprint(),
+                            libraryIndex.getContentHashes());
+                    cache = new IncrementalCache(Paths.get(config.getCacheFolder()), fingerprint, workerPool);
+                    cache.load();
+                    context.setMappingStore(cache.getMappingStore());
+                    Map<String, byte[]> reusable = cache.findReusable(inputClasses);
+                    reusable.forEach(classPool::freeze);
+                    metrics.count("cache.classes-reused", reusable.size());
+                }
+            }
 
+            List<AbstractTransformer> transformers = new ArrayList<>();
+            List<String> transformerNames = new ArrayList<>();
             for (AbstractTransformer transformer : transformerManager.getTransformers()) {
                 if (config.isTransformerEnabled(transformer.getName())) {
-                    LOGGER.debug("Applying transformer: " + transformer.getName());
-                    classes = applyTransformer(transformer, classes, context);
+                    transformers.add(transformer);
+                    transformerNames.add(transformer.getName());
                 }
             }
+            context.setFilter(TransformerFilter.compile(config, transformerNames));
+            pipeline.run(transformers, classPool, context);
 
-            jarHandler.writeJar(outputPath, classes, resourceEntries, inputPath);
-        } finally {
-            if (classLoader != null) {
-                try {
-                    classLoader.close();
-                } catch (IOException e) {
-                    LOGGER.severe("Error closing ClassLoader: " + e.getMessage());
-                }
+            List<ZipArchive.Entry> passthroughEntries = new ArrayList<>();
+            for (String entryName : classPool.getUntouchedClasses()) {
+                passthroughEntries.add(archive.getEntry(entryName));
             }
-        }
-    }
-
-    private Hierarchy buildHierarchy(Map<String, byte[]> classes) {
-        Hierarchy hierarchy = new Hierarchy();
-        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
-            ClassReader cr = new ClassReader(entry.getValue());
-            ClassNode classNode = new ClassNode();
-            cr.accept(classNode, 0);
-            hierarchy.addClass(classNode);
-        }
-        hierarchy.buildHierarchy();
-        return hierarchy;
-    }
-
-    private Map<String, byte[]> applyTransformer(AbstractTransformer transformer, Map<String, byte[]> classes, TransformerContext context) throws ObfuscationException {
-        Map<String, ClassNode> classNodes = new HashMap<>();
+            passthroughEntries.addAll(resourceEntries);
 
-        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
-            ClassReader cr = new ClassReader(entry.getValue());
-            ClassNode classNode = new ClassNode();
-            cr.accept(classNode, 0);
-            classNodes.put(entry.getKey(), classNode);
-        }
-
-        classNodes = transformer.transform(classNodes, config, context);
-
-        Map<String, byte[]> transformedClasses = new HashMap<>();
-        for (Map.Entry<String, ClassNode> entry : classNodes.entrySet()) {
-            ClassWriter cw = transformer.getClassWriter(this);
-            entry.getValue().accept(cw);
-            transformedClasses.put(entry.getKey(), cw.toByteArray());
-        }
-
-        return transformedClasses;
-    }
-
-    private void createClassLoader(Path inputPath) throws MalformedURLException {
-        List<URL> urls = new ArrayList<>();
-        urls.add(inputPath.toUri().toURL());
+            Map<String, byte[]> outputClasses;
+            try (Timer.Sample ignored = metrics.time("serialize")) {
+                SupertypeResolver resolver = new SupertypeResolver(context.getHierarchy(), classPool::getHeader, libraryIndex);
+                outputClasses = classPool.serialize(resolver, workerPool, metrics);
+            }
+            metrics.count("jar.classes-rewritten", outputClasses.size());
+            try (Timer.Sample ignored = metrics.time("write")) {
+                jarHandler.writeJar(outputPath, outputClasses, passthroughEntries, archive);
+            }
+            metrics.count("jar.bytes-out", Files.size(outputPath));
 
-        for (String libraryPath : config.getLibraryPaths()) {
-            File libraryFile = new File(libraryPath);
-            if (libraryFile.isDirectory()) {
-                File[] jarFiles = libraryFile.listFiles((dir, name) -> name.toLowerCase().endsWith(".jar"));
-                if (jarFiles != null) {
-                    for (File jarFile : jarFiles) {
-                        urls.add(jarFile.toURI().toURL());
-                    }
+            if (cache != null) {
+                try (Timer.Sample ignored = metrics.time("cache.save")) {
+                    cache.save(inputClasses, outputClasses, context.getMappingStore());
                 }
-            } else if (libraryFile.isFile() && libraryFile.getName().toLowerCase().endsWith(".jar")) {
-                urls.add(libraryFile.toURI().toURL());
             }
-        }
-
-        URL[] urlArray = urls.toArray(new URL[0]);
-        classLoader = new URLClassLoader(urlArray, getClass().getClassLoader());
-    }
 
-    @Override
-    public URLClassLoader getClassLoader() {
-        return classLoader;
+            ProfileReport profileReport = context.getProfileReport();
+            if (profileReport.size() > 0) {
+                LOGGER.process("Spared {} hot methods from runtime-costly transforms", profileReport.size());
+            }
+            if (config.getProfileReport() != null) {
+                Path reportPath = Paths.get(config.getProfileReport());
+                profileReport.write(reportPath);
+                LOGGER.process("Wrote profile report to {}", reportPath);
+            }
+        } finally {
+            workerPool.shutdown();
+        }
     }
-}
\ No newline at end of file
+}
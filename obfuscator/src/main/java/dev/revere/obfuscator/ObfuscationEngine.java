@@ -3,10 +3,17 @@ package dev.revere.obfuscator;
 import dev.revere.obfuscator.config.Configuration;
 import dev.revere.obfuscator.exception.ObfuscationException;
 import dev.revere.obfuscator.logging.Logger;
+import dev.revere.obfuscator.metrics.MetricsRegistry;
+import dev.revere.obfuscator.metrics.Timer;
 import dev.revere.obfuscator.transformer.TransformerManager;
+import lombok.Getter;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * @author Remi
@@ -16,14 +23,33 @@ import java.nio.file.Path;
 public class ObfuscationEngine {
     private static final Logger LOGGER = Logger.getLogger(ObfuscationEngine.class.getName());
 
+    private final Configuration config;
     private final JarProcessor jarProcessor;
+    @Getter
+    private MetricsRegistry lastMetrics;
 
     public ObfuscationEngine(Configuration config) {
+        this.config = config;
         TransformerManager transformerManager = new TransformerManager(config);
         this.jarProcessor = new JarProcessor(config, transformerManager);
     }
 
     public void obfuscate(Path inputPath, Path outputPath) throws ObfuscationException, IOException {
-        jarProcessor.process(inputPath, outputPath);
+        MetricsRegistry metrics = new MetricsRegistry();
+        lastMetrics = metrics;
+        try (Timer.Sample ignored = metrics.time("total")) {
+            jarProcessor.process(inputPath, outputPath, metrics);
+        }
+
+        if (config.getMetricsReport() != null) {
+            Map<String, String> attributes = new LinkedHashMap<>();
+            attributes.put("input", inputPath.toString());
+            attributes.put("output", outputPath.toString());
+            attributes.put("finishedAt", Instant.now().toString());
+            attributes.put("javaVersion", System.getProperty("java.version"));
+            Path reportPath = Paths.get(config.getMetricsReport());
+            metrics.writeReport(reportPath, attributes);
+            LOGGER.process("Wrote metrics report to {}", reportPath);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,311 @@
+package dev.revere.obfuscator.cache;
+
+import dev.revere.obfuscator.concurrent.WorkerPool;
+import dev.revere.obfuscator.logging.Logger;
+import dev.revere.obfuscator.transformer.context.MappingStore;
+import org.objectweb.asm.ClassReader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * A content-addressed cache of transformed classes. Each class is stored under the hash of its
+ * input bytes and the configuration fingerprint, next to the rename mappings of the run that
+ * produced it. A class is reused when its bytes did not change, none of its supertypes in the jar
+ * changed, directly or further up, and it does not reference any class that is transformed again,
+ * so overrides and references into re-transformed classes always resolve against the same names.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class IncrementalCache {
+    private static final Logger LOGGER = Logger.getLogger(IncrementalCache.class.getName());
+    private static final int MAGIC = 0x52564943;
+    private static final int VERSION = 1;
+    private static final String STATE_FILE = "state.bin";
+    private static final String OBJECTS_FOLDER = "objects";
+    private static final byte CONSTANT_CLASS = 7;
+
+    private final Path folder;
+    private final Path objectsFolder;
+    private final String fingerprint;
+    private final WorkerPool workerPool;
+
+    private Set<String> knownKeys = Collections.emptySet();
+    private MappingStore mappingStore = new MappingStore();
+    private final Map<String, String> entryKeys = new HashMap<>();
+    private final Set<String> reusedEntries = new HashSet<>();
+
+    public IncrementalCache(Path folder, String fingerprint, WorkerPool workerPool) {
+        this.folder = folder;
+        this.objectsFolder = folder.resolve(OBJECTS_FOLDER);
+        this.fingerprint = fingerprint;
+        this.workerPool = workerPool;
+    }
+
+    /**
+     * Combines the configuration fingerprint with what else decides the output of a class: the
+     * build of the obfuscator and the content of every library, whose supertypes frames are
+     * computed against.
+     */
+    public static String fingerprint(String configFingerprint, String buildFingerprint, List<String> libraryHashes) {
+        StringBuilder builder = new StringBuilder(configFingerprint).append('\n').append(buildFingerprint);
+        for (String libraryHash : libraryHashes) {
+            builder.append('\n').append(libraryHash);
+        }
+        return sha256(builder.toString().getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    public void load() {
+        Path stateFile = folder.resolve(STATE_FILE);
+        if (!Files.isRegularFile(stateFile)) {
+            LOGGER.process("No incremental cache found in " + folder + ", transforming every class");
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(stateFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !fingerprint.equals(in.readUTF())) {
+                LOGGER.process("Incremental cache was built with a different configuration, transforming every class");
+                return;
+            }
+
+            int keyCount = in.readInt();
+            Set<String> keys = new HashSet<>(keyCount * 2);
+            for (int i = 0; i < keyCount; i++) {
+                keys.add(in.readUTF());
+            }
+
+            Map<String, Map<String, Map<String, String>>> mappings = new HashMap<>();
+            int transformerCount = in.readInt();
+            for (int i = 0; i < transformerCount; i++) {
+                Map<String, Map<String, String>> owners = mappings.computeIfAbsent(in.readUTF(), k -> new HashMap<>());
+                int ownerCount = in.readInt();
+                for (int j = 0; j < ownerCount; j++) {
+                    Map<String, String> members = owners.computeIfAbsent(in.readUTF(), k -> new HashMap<>());
+                    int memberCount = in.readInt();
+                    for (int k = 0; k < memberCount; k++) {
+                        members.put(in.readUTF(), in.readUTF());
+                    }
+                }
+            }
+
+            knownKeys = keys;
+            mappingStore = new MappingStore(mappings);
+        } catch (IOException e) {
+            LOGGER.warning("Ignoring unreadable incremental cache: " + e.getMessage());
+        }
+    }
+
+    public MappingStore getMappingStore() {
+        return mappingStore;
+    }
+
+    /**
+     * Returns the cached output of every class that can be reused as is, keyed by entry name.
+     */
+    public Map<String, byte[]> findReusable(Map<String, byte[]> classes) throws IOException {
+        List<Map.Entry<String, byte[]>> entries = new ArrayList<>(classes.entrySet());
+        List<String> keys = workerPool.map(entries, entry -> key(entry.getValue()));
+        List<String[]> supertypes = workerPool.map(entries, entry -> supertypesOf(entry.getValue()));
+
+        Set<String> changed = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            String entryName = entries.get(i).getKey();
+            entryKeys.put(entryName, keys.get(i));
+            if (knownKeys.contains(keys.get(i))) {
+                candidates.add(i);
+            } else {
+                changed.add(internalName(entryName));
+            }
+        }
+
+        Set<String> invalidated = inheritChanges(entries, supertypes, changed);
+        List<byte[]> outputs = workerPool.map(candidates, index -> {
+            if (invalidated.contains(internalName(entries.get(index).getKey()))
+                    || referencesAny(entries.get(index).getValue(), invalidated)) {
+                return null;
+            }
+            Path object = objectsFolder.resolve(keys.get(index));
+            return Files.isRegularFile(object) ? Files.readAllBytes(object) : null;
+        });
+
+        Map<String, byte[]> reusable = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (outputs.get(i) != null) {
+                String entryName = entries.get(candidates.get(i)).getKey();
+                reusable.put(entryName, outputs.get(i));
+                reusedEntries.add(entryName);
+            }
+        }
+
+        LOGGER.process("Reusing " + reusable.size() + " of " + classes.size() + " classes from the incremental cache ("
+                + changed.size() + " changed, " + (invalidated.size() - changed.size()) + " inheriting a change, "
+                + (candidates.size() - reusable.size()) + " not reused)");
+        return reusable;
+    }
+
+    /**
+     * Adds to the changed classes every class with a changed supertype anywhere up its hierarchy,
+     * since a supertype may now declare a member the class overrides or hides.
+     */
+    private static Set<String> inheritChanges(List<Map.Entry<String, byte[]>> entries, List<String[]> supertypes, Set<String> changed) {
+        Set<String> invalidated = new HashSet<>(changed);
+        if (changed.isEmpty()) {
+            return invalidated;
+        }
+        boolean grew;
+        do {
+            grew = false;
+            for (int i = 0; i < entries.size(); i++) {
+                String name = internalName(entries.get(i).getKey());
+                if (invalidated.contains(name)) {
+                    continue;
+                }
+                for (String supertype : supertypes.get(i)) {
+                    if (invalidated.contains(supertype)) {
+                        invalidated.add(name);
+                        grew = true;
+                        break;
+                    }
+                }
+            }
+        } while (grew);
+        return invalidated;
+    }
+
+    private static String[] supertypesOf(byte[] classBytes) {
+        ClassReader cr = new ClassReader(classBytes);
+        String[] interfaces = cr.getInterfaces();
+        String[] supertypes = Arrays.copyOf(interfaces, interfaces.length + 1);
+        supertypes[interfaces.length] = cr.getSuperName();
+        return supertypes;
+    }
+
+    private static String internalName(String entryName) {
+        return entryName.substring(0, entryName.length() - ".class".length());
+    }
+
+    /**
+     * Stores the output of every re-transformed class and the mappings of this run. Classes missing
+     * from {@code outputClasses} were left untouched and are stored as their input bytes.
+     */
+    public void save(Map<String, byte[]> inputClasses, Map<String, byte[]> outputClasses, MappingStore mappings) throws IOException {
+        Files.createDirectories(objectsFolder);
+
+        List<String> written = new ArrayList<>();
+        for (String entryName : inputClasses.keySet()) {
+            if (!reusedEntries.contains(entryName)) {
+                written.add(entryName);
+            }
+        }
+        workerPool.forEach(written, entryName -> {
+            byte[] output = outputClasses.getOrDefault(entryName, inputClasses.get(entryName));
+            writeAtomically(objectsFolder.resolve(keyOf(entryName, inputClasses)), output);
+        });
+
+        Set<String> keys = new HashSet<>();
+        for (String entryName : inputClasses.keySet()) {
+            keys.add(keyOf(entryName, inputClasses));
+        }
+
+        ByteArrayOutputStream state = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(state)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(fingerprint);
+            out.writeInt(keys.size());
+            for (String key : keys) {
+                out.writeUTF(key);
+            }
+
+            Map<String, Map<String, Map<String, String>>> recorded = mappings.getRecorded();
+            out.writeInt(recorded.size());
+            for (Map.Entry<String, Map<String, Map<String, String>>> transformer : recorded.entrySet()) {
+                out.writeUTF(transformer.getKey());
+                out.writeInt(transformer.getValue().size());
+                for (Map.Entry<String, Map<String, String>> owner : transformer.getValue().entrySet()) {
+                    out.writeUTF(owner.getKey());
+                    out.writeInt(owner.getValue().size());
+                    for (Map.Entry<String, String> member : owner.getValue().entrySet()) {
+                        out.writeUTF(member.getKey());
+                        out.writeUTF(member.getValue());
+                    }
+                }
+            }
+        }
+        writeAtomically(folder.resolve(STATE_FILE), state.toByteArray());
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(objectsFolder)) {
+            for (Path object : stream) {
+                if (!keys.contains(object.getFileName().toString())) {
+                    Files.deleteIfExists(object);
+                }
+            }
+        }
+        LOGGER.debug("Stored " + written.size() + " classes in the incremental cache");
+    }
+
+    private String keyOf(String entryName, Map<String, byte[]> inputClasses) {
+        String key = entryKeys.get(entryName);
+        return key != null ? key : key(inputClasses.get(entryName));
+    }
+
+    private String key(byte[] classBytes) {
+        return sha256(classBytes, fingerprint);
+    }
+
+    private static String sha256(byte[] bytes, String salt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (salt != null) {
+                digest.update(salt.getBytes(StandardCharsets.UTF_8));
+            }
+            byte[] hash = digest.digest(bytes);
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean referencesAny(byte[] classBytes, Set<String> classNames) {
+        if (classNames.isEmpty()) {
+            return false;
+        }
+
+        ClassReader cr = new ClassReader(classBytes);
+        char[] buffer = new char[cr.getMaxStringLength()];
+        for (int i = 1; i < cr.getItemCount(); i++) {
+            int offset = cr.getItem(i);
+            if (offset > 0 && cr.readByte(offset - 1) == CONSTANT_CLASS) {
+                String name = cr.readUTF8(offset, buffer);
+                if (name.startsWith("[")) {
+                    int start = name.lastIndexOf('[') + 1;
+                    if (name.charAt(start) != 'L') {
+                        continue;
+                    }
+                    name = name.substring(start + 1, name.length() - 1);
+                }
+                if (classNames.contains(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
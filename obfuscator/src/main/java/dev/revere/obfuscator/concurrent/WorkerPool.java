@@ -0,0 +1,146 @@
+package dev.revere.obfuscator.concurrent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Runs per-item work either on the calling thread or on a {@link ForkJoinPool}. Results are always
+ * returned in input order, so the sequential and parallel paths produce identical output.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class WorkerPool {
+    private final int workers;
+    private ForkJoinPool forkJoinPool;
+
+    public WorkerPool(int workers) {
+        this.workers = workers <= 0 ? Runtime.getRuntime().availableProcessors() : workers;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public boolean isParallel() {
+        return workers > 1;
+    }
+
+    public <T, R, E extends Exception> List<R> map(List<T> items, Task<T, R, E> task) throws E {
+        if (!isParallel() || items.size() < 2) {
+            List<R> results = new ArrayList<>(items.size());
+            for (T item : items) {
+                results.add(task.apply(item));
+            }
+            return results;
+        }
+
+        Object[] results = new Object[items.size()];
+        try {
+            run(() -> IntStream.range(0, items.size()).parallel().forEach(i -> {
+                try {
+                    results[i] = task.apply(items.get(i));
+                } catch (Exception e) {
+                    throw new TaskFailure(e);
+                }
+            }));
+        } catch (TaskFailure failure) {
+            @SuppressWarnings("unchecked")
+            E cause = (E) failure.getCause();
+            throw cause;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<R> list = (List<R>) Arrays.asList(results);
+        return list;
+    }
+
+    public <T, E extends Exception> void forEach(List<T> items, VoidTask<T, E> task) throws E {
+        map(items, item -> {
+            task.apply(item);
+            return null;
+        });
+    }
+
+    /**
+     * Folds the items into per-worker accumulators which are merged pairwise once every worker is
+     * done, so no accumulator is ever shared between threads.
+     */
+    public <T, A> A collect(List<T> items, Supplier<A> supplier, BiConsumer<A, T> accumulator, BinaryOperator<A> combiner) {
+        if (!isParallel()) {
+            A result = supplier.get();
+            for (T item : items) {
+                accumulator.accept(result, item);
+            }
+            return result;
+        }
+
+        Object[] holder = new Object[1];
+        run(() -> holder[0] = items.parallelStream().collect(supplier, accumulator, combiner::apply));
+
+        @SuppressWarnings("unchecked")
+        A result = (A) holder[0];
+        return result;
+    }
+
+    public synchronized void shutdown() {
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdown();
+            forkJoinPool = null;
+        }
+    }
+
+    private void run(Runnable action) {
+        try {
+            getForkJoinPool().submit(action).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for workers", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            for (Throwable current = cause; current != null; current = current.getCause()) {
+                if (current instanceof TaskFailure) {
+                    throw (TaskFailure) current;
+                }
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private synchronized ForkJoinPool getForkJoinPool() {
+        if (forkJoinPool == null) {
+            forkJoinPool = new ForkJoinPool(workers);
+        }
+        return forkJoinPool;
+    }
+
+    @FunctionalInterface
+    public interface Task<T, R, E extends Exception> {
+        R apply(T item) throws E;
+    }
+
+    @FunctionalInterface
+    public interface VoidTask<T, E extends Exception> {
+        void apply(T item) throws E;
+    }
+
+    private static class TaskFailure extends RuntimeException {
+        TaskFailure(Exception cause) {
+            super(cause);
+        }
+    }
+}
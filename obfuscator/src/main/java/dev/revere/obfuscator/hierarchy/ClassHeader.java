@@ -0,0 +1,114 @@
+package dev.revere.obfuscator.hierarchy;
+
+import lombok.Getter;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The shape of a class without its code: name, access flags, direct supertypes and member
+ * signatures. Members are stored as name and descriptor, concatenated.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+@Getter
+public class ClassHeader {
+    private final String name;
+    private final int access;
+    private final String superName;
+    private final String[] interfaces;
+    private final String[] fields;
+    private final String[] methods;
+
+    public ClassHeader(String name, int access, String superName, String[] interfaces, String[] fields, String[] methods) {
+        this.name = name;
+        this.access = access;
+        this.superName = superName;
+        this.interfaces = interfaces;
+        this.fields = fields;
+        this.methods = methods;
+    }
+
+    public static ClassHeader of(ClassNode classNode) {
+        String[] fields = new String[classNode.fields.size()];
+        for (int i = 0; i < fields.length; i++) {
+            FieldNode fieldNode = classNode.fields.get(i);
+            fields[i] = fieldNode.name + fieldNode.desc;
+        }
+        String[] methods = new String[classNode.methods.size()];
+        for (int i = 0; i < methods.length; i++) {
+            MethodNode methodNode = classNode.methods.get(i);
+            methods[i] = methodNode.name + methodNode.desc;
+        }
+        return new ClassHeader(classNode.name, classNode.access, classNode.superName,
+                classNode.interfaces.toArray(new String[0]), fields, methods);
+    }
+
+    /**
+     * Reads the header of a class file. Method bodies, debug information and frames are skipped.
+     */
+    public static ClassHeader read(byte[] classBytes) {
+        ClassReader cr = new ClassReader(classBytes);
+        List<String> fields = new ArrayList<>();
+        List<String> methods = new ArrayList<>();
+        cr.accept(new ClassVisitor(Opcodes.ASM9) {
+            @Override
+            public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+                fields.add(name + descriptor);
+                return null;
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                methods.add(name + descriptor);
+                return null;
+            }
+        }, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        return new ClassHeader(cr.getClassName(), cr.getAccess(), cr.getSuperName(), cr.getInterfaces(),
+                fields.toArray(new String[0]), methods.toArray(new String[0]));
+    }
+
+    public boolean isInterface() {
+        return (access & Opcodes.ACC_INTERFACE) != 0;
+    }
+
+    /**
+     * Adds the name of a field stored as name and descriptor. Where the split is ambiguous, as in
+     * {@code aLbLc;} being {@code a} of type {@code LbLc;} or {@code aLb} of type {@code Lc;}, every
+     * name followed by a valid descriptor is added.
+     */
+    public static void addFieldNames(String field, Collection<String> names) {
+        for (int i = 1; i < field.length(); i++) {
+            if (isFieldDescriptor(field, i)) {
+                names.add(field.substring(0, i));
+            }
+        }
+    }
+
+    private static boolean isFieldDescriptor(String field, int start) {
+        int index = start;
+        while (index < field.length() && field.charAt(index) == '[') {
+            index++;
+        }
+        if (index >= field.length()) {
+            return false;
+        }
+        char type = field.charAt(index);
+        if (type == 'L') {
+            int end = field.indexOf(';', index);
+            return end == field.length() - 1 && end > index + 1;
+        }
+        return index == field.length() - 1 && "ZBCSIJFD".indexOf(type) >= 0;
+    }
+}
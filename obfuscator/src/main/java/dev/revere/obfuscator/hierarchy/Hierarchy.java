@@ -1,65 +1,413 @@
 package dev.revere.obfuscator.hierarchy;
 
-import dev.revere.obfuscator.config.Configuration;
 import dev.revere.obfuscator.logging.Logger;
-import dev.revere.obfuscator.transformer.TransformerFilter;
-import lombok.Getter;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
+ * The type graph of the classes in the pool, indexed by interned integer IDs.
+ * <p>
+ * Classes are collected with {@link #addClass}, which captures each class's supertype names and
+ * method signatures, so that per-class work can run on several workers whose partial hierarchies
+ * are concatenated with {@link #merge}. {@link #buildHierarchy} then assigns every class, and every
+ * supertype they reference, an ID and stores superclass, interface and subtype edges as primitive
+ * arrays; this step stays sequential so IDs are dense and do not depend on scheduling. When a {@link LibraryIndex}
+ * is given, supertypes outside the pool are followed into the libraries and the JDK, with their
+ * method signatures, so chains no longer stop at the edge of the pool.
+ * <p>
+ * Every distinct name and descriptor pair is interned to a signature ID, and every declared method
+ * gets a dense method ID, so callers can keep per-method state in plain arrays. Ancestor chains and
+ * virtual method tables are built lazily on first use and cached; a table is an open-addressed
+ * {@code int[]} from signature ID to method ID, so resolving a call site allocates nothing once
+ * the owner's table exists. Method signatures are captured at build time, so resolution keeps
+ * answering in terms of original names while transformers rename methods in place.
+ * <p>
+ * The name-based methods take dotted class names, the ID-based methods internal names.
+ *
  * @author Remi
  * @project revere-java-obfuscator
  * @date 10/19/2024
  */
-@Getter
 public class Hierarchy {
     private static final Logger LOGGER = Logger.getLogger(Hierarchy.class.getName());
+    private static final int[] NONE = new int[0];
 
-    private final Map<String, ClassNode> classes = new HashMap<>();
-    private final Map<String, Set<String>> subclasses = new HashMap<>();
-    private final Map<String, String> superclasses = new HashMap<>();
-    private final Map<String, Set<MethodNode>> methodsInClass = new HashMap<>();
-    private final Map<String, Set<String>> methodsInHierarchy = new HashMap<>();
+    private final List<Collected> collected = new ArrayList<>();
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] names;
+    private String[] dottedNames;
+    private ClassNode[] nodes;
+    private final Map<String, Map<String, Integer>> signatureIds = new HashMap<>();
+    private final BitSet initializerSignatures = new BitSet();
+    private int signatureCount;
+    private int[] methodOffsets;
+    private int[] methodSignatures;
+    private int[] methodOwners;
+    private int[] superclassIds;
+    private int[][] interfaceIds;
+    private int[][] subclassIds;
+    private int[][] implementorIds;
+    private AtomicReferenceArray<int[]> ancestors;
+    private AtomicReferenceArray<MethodTable> vtables;
+    private Set<String> libraryMethodNames = Collections.emptySet();
+    private Set<String> libraryFieldNames = Collections.emptySet();
 
     public void addClass(ClassNode classNode) {
-        String className = classNode.name.replace('/', '.');
-        classes.put(className, classNode);
+        collected.add(new Collected(classNode));
+    }
+
+    /**
+     * Folds the classes another worker collected into this hierarchy. Nothing is interned yet, so
+     * merging is a concatenation.
+     */
+    public Hierarchy merge(Hierarchy other) {
+        collected.addAll(other.collected);
+        return this;
+    }
+
+    public void buildHierarchy() {
+        buildHierarchy(null);
+    }
+
+    /**
+     * @param libraryIndex where supertypes outside the pool are looked up, or {@code null} to leave
+     *                     them without supertypes or methods
+     */
+    public void buildHierarchy(LibraryIndex libraryIndex) {
+        collected.sort(Comparator.comparing(entry -> entry.node.name));
 
-        if (classNode.superName != null) {
-            String superClassName = classNode.superName.replace('/', '.');
-            superclasses.put(className, superClassName);
-            subclasses.computeIfAbsent(superClassName, k -> new HashSet<>()).add(className);
+        List<String> nameList = new ArrayList<>();
+        for (Collected entry : collected) {
+            if (ids.putIfAbsent(entry.node.name, nameList.size()) == null) {
+                nameList.add(entry.node.name);
+            }
+        }
+        int poolSize = nameList.size();
+        // Supertypes outside the pool still get an ID so edges into libraries are not lost
+        for (Collected entry : collected) {
+            intern(entry.superName, nameList);
+            for (String itf : entry.interfaces) {
+                intern(itf, nameList);
+            }
+        }
+        List<ClassHeader> libraryHeaders = new ArrayList<>();
+        if (libraryIndex != null) {
+            for (int id = poolSize; id < nameList.size(); id++) {
+                ClassHeader header = libraryIndex.getHeader(nameList.get(id));
+                libraryHeaders.add(header);
+                if (header != null) {
+                    intern(header.getSuperName(), nameList);
+                    for (String itf : header.getInterfaces()) {
+                        intern(itf, nameList);
+                    }
+                }
+            }
         }
 
-        Set<MethodNode> classMethods = new HashSet<>(classNode.methods);
-        methodsInClass.put(className, classMethods);
+        int size = nameList.size();
+        names = nameList.toArray(new String[0]);
+        dottedNames = new String[size];
+        nodes = new ClassNode[size];
+        String[][] methodNames = new String[size][];
+        String[][] methodDescs = new String[size][];
+        superclassIds = new int[size];
+        interfaceIds = new int[size][];
+        Arrays.fill(superclassIds, -1);
+        Arrays.fill(interfaceIds, NONE);
+        Arrays.fill(methodNames, new String[0]);
+        Arrays.fill(methodDescs, new String[0]);
 
-        for (MethodNode methodNode : classMethods) {
-            String methodKey = className + "." + methodNode.name + methodNode.desc;
-            methodsInHierarchy.computeIfAbsent(methodKey, k -> new HashSet<>()).add(className);
+        int[] subclassCounts = new int[size];
+        int[] implementorCounts = new int[size];
+        for (int id = 0; id < size; id++) {
+            dottedNames[id] = names[id].replace('/', '.');
+        }
+        for (Collected entry : collected) {
+            int id = ids.get(entry.node.name);
+            if (nodes[id] != null) {
+                continue;
+            }
+            nodes[id] = entry.node;
+            methodNames[id] = entry.methodNames;
+            methodDescs[id] = entry.methodDescs;
+            link(id, entry.superName, entry.interfaces, subclassCounts, implementorCounts);
         }
+        Set<String> libraryMethods = new HashSet<>();
+        Set<String> libraryFields = new HashSet<>();
+        for (int i = 0; i < libraryHeaders.size(); i++) {
+            ClassHeader header = libraryHeaders.get(i);
+            if (header != null) {
+                int id = poolSize + i;
+                String[] methods = header.getMethods();
+                methodNames[id] = new String[methods.length];
+                methodDescs[id] = new String[methods.length];
+                for (int m = 0; m < methods.length; m++) {
+                    int descriptor = methods[m].indexOf('(');
+                    methodNames[id][m] = methods[m].substring(0, descriptor);
+                    methodDescs[id][m] = methods[m].substring(descriptor);
+                    libraryMethods.add(methodNames[id][m]);
+                }
+                link(id, header.getSuperName(), header.getInterfaces(), subclassCounts, implementorCounts);
+                for (String field : header.getFields()) {
+                    ClassHeader.addFieldNames(field, libraryFields);
+                }
+            }
+        }
+        libraryMethodNames = Collections.unmodifiableSet(libraryMethods);
+        libraryFieldNames = Collections.unmodifiableSet(libraryFields);
+
+        methodOffsets = new int[size + 1];
+        for (int id = 0; id < size; id++) {
+            methodOffsets[id + 1] = methodOffsets[id] + methodNames[id].length;
+        }
+        methodSignatures = new int[methodOffsets[size]];
+        methodOwners = new int[methodOffsets[size]];
+        for (int id = 0; id < size; id++) {
+            for (int m = 0; m < methodNames[id].length; m++) {
+                int methodId = methodOffsets[id] + m;
+                methodSignatures[methodId] = internSignature(methodNames[id][m], methodDescs[id][m]);
+                methodOwners[methodId] = id;
+            }
+        }
+
+        subclassIds = new int[size][];
+        implementorIds = new int[size][];
+        for (int id = 0; id < size; id++) {
+            subclassIds[id] = subclassCounts[id] == 0 ? NONE : new int[subclassCounts[id]];
+            implementorIds[id] = implementorCounts[id] == 0 ? NONE : new int[implementorCounts[id]];
+            subclassCounts[id] = 0;
+            implementorCounts[id] = 0;
+        }
+        for (int id = 0; id < size; id++) {
+            if (superclassIds[id] >= 0) {
+                int superId = superclassIds[id];
+                subclassIds[superId][subclassCounts[superId]++] = id;
+            }
+            for (int itf : interfaceIds[id]) {
+                implementorIds[itf][implementorCounts[itf]++] = id;
+            }
+        }
+
+        ancestors = new AtomicReferenceArray<>(size);
+        vtables = new AtomicReferenceArray<>(size);
+        collected.clear();
+        LOGGER.debug("Indexed " + size + " types in the class hierarchy (" + poolSize + " in the pool)");
     }
 
-    public void buildHierarchy() {
-        for (Map.Entry<String, Set<String>> entry : subclasses.entrySet()) {
-            String superClassName = entry.getKey();
-            for (String subClassName : entry.getValue()) {
-                superclasses.put(subClassName, superClassName);
+    private void link(int id, String superName, String[] interfaces, int[] subclassCounts, int[] implementorCounts) {
+        if (superName != null) {
+            superclassIds[id] = ids.get(superName);
+            subclassCounts[superclassIds[id]]++;
+        }
+        if (interfaces.length > 0) {
+            int[] itfs = new int[interfaces.length];
+            for (int i = 0; i < itfs.length; i++) {
+                itfs[i] = ids.get(interfaces[i]);
+                implementorCounts[itfs[i]]++;
+            }
+            interfaceIds[id] = itfs;
+        }
+    }
+
+    private int internSignature(String name, String desc) {
+        Map<String, Integer> descs = signatureIds.computeIfAbsent(name, k -> new HashMap<>());
+        Integer signatureId = descs.get(desc);
+        if (signatureId == null) {
+            signatureId = signatureCount++;
+            descs.put(desc, signatureId);
+            if (name.startsWith("<")) {
+                initializerSignatures.set(signatureId);
+            }
+        }
+        return signatureId;
+    }
+
+    private void intern(String name, List<String> nameList) {
+        if (name != null && ids.putIfAbsent(name, nameList.size()) == null) {
+            nameList.add(name);
+        }
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the ID of a class by internal name, or -1 if it is neither in the pool nor referenced
+     * as a supertype.
+     */
+    public int getId(String internalName) {
+        Integer id = ids.get(internalName);
+        return id == null ? -1 : id;
+    }
+
+    public String getInternalName(int id) {
+        return names[id];
+    }
+
+    public String getName(int id) {
+        return dottedNames[id];
+    }
+
+    /**
+     * Returns the pool class with the given ID, or {@code null} for library types.
+     */
+    public ClassNode getClassNode(int id) {
+        return nodes[id];
+    }
+
+    public int getSuperclassId(int id) {
+        return superclassIds[id];
+    }
+
+    public int[] getInterfaceIds(int id) {
+        return interfaceIds[id];
+    }
+
+    public int[] getSubclassIds(int id) {
+        return subclassIds[id];
+    }
+
+    public int[] getImplementorIds(int id) {
+        return implementorIds[id];
+    }
+
+    /**
+     * Returns the names of the methods declared by library supertypes of the pool, at any depth. A
+     * pool method renamed to one of them could override a library method.
+     */
+    public Set<String> getLibraryMethodNames() {
+        return libraryMethodNames;
+    }
+
+    /**
+     * Returns the names of the fields declared by library supertypes of the pool, at any depth. A
+     * pool field renamed to one of them would hide a library field.
+     */
+    public Set<String> getLibraryFieldNames() {
+        return libraryFieldNames;
+    }
+
+    /**
+     * Returns the superclass chain of a class, starting with the class itself and ending at the
+     * first type whose superclass is unknown.
+     */
+    public int[] getAncestorIds(int id) {
+        int[] chain = ancestors.get(id);
+        if (chain == null) {
+            int length = 0;
+            for (int current = id; current >= 0; current = superclassIds[current]) {
+                length++;
+            }
+            chain = new int[length];
+            int index = 0;
+            for (int current = id; current >= 0; current = superclassIds[current]) {
+                chain[index++] = current;
+            }
+            ancestors.set(id, chain);
+        }
+        return chain;
+    }
+
+    public boolean isSubtypeOf(int id, int superId) {
+        if (id == superId) {
+            return true;
+        }
+        for (int ancestor : getAncestorIds(id)) {
+            if (ancestor == superId) {
+                return true;
+            }
+            for (int itf : interfaceIds[ancestor]) {
+                if (isSubtypeOf(itf, superId)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the ID of a method signature, or -1 if no known class declares a method with this name
+     * and descriptor.
+     */
+    public int getSignatureId(String name, String desc) {
+        Map<String, Integer> descs = signatureIds.get(name);
+        Integer signatureId = descs == null ? null : descs.get(desc);
+        return signatureId == null ? -1 : signatureId;
+    }
+
+    /**
+     * The number of declared methods; method IDs run from 0 to this count, exclusive.
+     */
+    public int getMethodCount() {
+        return methodSignatures.length;
+    }
+
+    public int getMethodClassId(int methodId) {
+        return methodOwners[methodId];
+    }
+
+    /**
+     * Returns the ID of the method a class itself declares with the given signature, or -1.
+     */
+    public int getDeclaredMethodId(int id, int signatureId) {
+        int methodId = resolveMethod(id, signatureId);
+        return methodId >= 0 && methodOwners[methodId] == id ? methodId : -1;
+    }
+
+    /**
+     * Resolves a method the way the JVM does: the class itself, then its superclasses, then its
+     * superinterfaces. Returns the ID of the resolved method, or -1 if no known class declares it.
+     * Constructors and static initializers are not inherited.
+     */
+    public int resolveMethod(int id, int signatureId) {
+        return signatureId < 0 ? -1 : getMethodTable(id).get(signatureId);
+    }
+
+    private MethodTable getMethodTable(int id) {
+        MethodTable vtable = vtables.get(id);
+        if (vtable != null) {
+            return vtable;
+        }
+
+        MethodTable table = new MethodTable(methodOffsets[id + 1] - methodOffsets[id]);
+        if (superclassIds[id] >= 0) {
+            inherit(table, getMethodTable(superclassIds[id]), false);
+        }
+        for (int methodId = methodOffsets[id]; methodId < methodOffsets[id + 1]; methodId++) {
+            table.put(methodSignatures[methodId], methodId, false);
+        }
+        for (int itf : interfaceIds[id]) {
+            inherit(table, getMethodTable(itf), true);
+        }
+
+        return vtables.compareAndSet(id, null, table) ? table : vtables.get(id);
+    }
+
+    private void inherit(MethodTable table, MethodTable inherited, boolean onlyIfAbsent) {
+        for (int slot = 0; slot < inherited.signatures.length; slot++) {
+            int signatureId = inherited.signatures[slot];
+            if (signatureId >= 0 && !initializerSignatures.get(signatureId)) {
+                table.put(signatureId, inherited.methods[slot], onlyIfAbsent);
             }
         }
     }
 
     public boolean isSubclassOf(String c1, String c2) {
+        int id = idOf(c1);
+        int superId = idOf(c2);
         if (c1.equals(c2)) {
             return true;
         }
-        String current = c1;
-        while (current != null) {
-            current = superclasses.get(current);
-            if (current != null && current.equals(c2)) {
+        if (id < 0 || superId < 0) {
+            return false;
+        }
+        for (int ancestor : getAncestorIds(id)) {
+            if (ancestor == superId) {
                 return true;
             }
         }
@@ -67,36 +415,152 @@ public class Hierarchy {
     }
 
     public ClassNode getClass(String className) {
-        return classes.get(className);
+        int id = idOf(className);
+        return id < 0 ? null : nodes[id];
     }
 
     public Set<String> getSubclasses(String className) {
-        return subclasses.getOrDefault(className, Collections.emptySet());
+        int id = idOf(className);
+        if (id < 0 || subclassIds[id].length == 0) {
+            return Collections.emptySet();
+        }
+        Set<String> subclasses = new HashSet<>();
+        for (int subclassId : subclassIds[id]) {
+            subclasses.add(dottedNames[subclassId]);
+        }
+        return subclasses;
     }
 
     public String getSuperclass(String className) {
-        return superclasses.get(className);
+        int id = idOf(className);
+        return id < 0 || superclassIds[id] < 0 ? null : dottedNames[superclassIds[id]];
     }
 
     public Set<MethodNode> getMethodsInClass(String className) {
-        return methodsInClass.getOrDefault(className, Collections.emptySet());
+        ClassNode classNode = getClass(className);
+        return classNode == null ? Collections.emptySet() : new HashSet<>(classNode.methods);
     }
 
     public Set<String> getClassesWithMethod(String className, String methodName, String methodDesc) {
-        String methodKey = className + "." + methodName + methodDesc;
-        return methodsInHierarchy.getOrDefault(methodKey, Collections.emptySet());
+        int id = idOf(className);
+        if (id >= 0 && getDeclaredMethodId(id, getSignatureId(methodName, methodDesc)) >= 0) {
+            return Collections.singleton(className);
+        }
+        return Collections.emptySet();
     }
 
+    /**
+     * Returns the superclass chain of a class within the pool, starting with the class itself.
+     */
     public List<String> getHierarchy(String className) {
+        int id = idOf(className);
+        if (id < 0) {
+            return Collections.singletonList(className);
+        }
         List<String> hierarchy = new ArrayList<>();
-        String current = className;
-        while (current != null) {
-            hierarchy.add(current);
-            current = getSuperclass(current);
-            if (current != null && !classes.containsKey(current)) {
+        for (int ancestor : getAncestorIds(id)) {
+            if (ancestor != id && nodes[ancestor] == null) {
                 break;
             }
+            hierarchy.add(dottedNames[ancestor]);
         }
         return hierarchy;
     }
-}
\ No newline at end of file
+
+    private int idOf(String className) {
+        return getId(className.replace('.', '/'));
+    }
+
+    /**
+     * What the collecting worker captured of one class.
+     */
+    private static final class Collected {
+        private final ClassNode node;
+        private final String superName;
+        private final String[] interfaces;
+        private final String[] methodNames;
+        private final String[] methodDescs;
+
+        Collected(ClassNode node) {
+            this.node = node;
+            this.superName = node.superName;
+            this.interfaces = node.interfaces.toArray(new String[0]);
+            this.methodNames = new String[node.methods.size()];
+            this.methodDescs = new String[methodNames.length];
+            for (int i = 0; i < methodNames.length; i++) {
+                MethodNode methodNode = node.methods.get(i);
+                methodNames[i] = methodNode.name;
+                methodDescs[i] = methodNode.desc;
+            }
+        }
+    }
+
+    /**
+     * A virtual method table: signature IDs mapped to method IDs by linear probing over two parallel
+     * arrays, kept at most half full.
+     */
+    private static final class MethodTable {
+        private int[] signatures;
+        private int[] methods;
+        private int size;
+
+        MethodTable(int expected) {
+            int capacity = 8;
+            while (capacity < expected * 2) {
+                capacity <<= 1;
+            }
+            signatures = new int[capacity];
+            methods = new int[capacity];
+            Arrays.fill(signatures, -1);
+        }
+
+        int get(int signatureId) {
+            int mask = signatures.length - 1;
+            for (int slot = mix(signatureId) & mask; signatures[slot] >= 0; slot = (slot + 1) & mask) {
+                if (signatures[slot] == signatureId) {
+                    return methods[slot];
+                }
+            }
+            return -1;
+        }
+
+        void put(int signatureId, int methodId, boolean onlyIfAbsent) {
+            if ((size + 1) * 2 > signatures.length) {
+                grow();
+            }
+            int mask = signatures.length - 1;
+            int slot = mix(signatureId) & mask;
+            while (signatures[slot] >= 0) {
+                if (signatures[slot] == signatureId) {
+                    if (!onlyIfAbsent) {
+                        methods[slot] = methodId;
+                    }
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            signatures[slot] = signatureId;
+            methods[slot] = methodId;
+            size++;
+        }
+
+        private void grow() {
+            int[] oldSignatures = signatures;
+            int[] oldMethods = methods;
+            signatures = new int[oldSignatures.length * 2];
+            methods = new int[oldMethods.length * 2];
+            Arrays.fill(signatures, -1);
+            size = 0;
+            for (int slot = 0; slot < oldSignatures.length; slot++) {
+                if (oldSignatures[slot] >= 0) {
+                    put(oldSignatures[slot], oldMethods[slot], false);
+                }
+            }
+        }
+
+        private static int mix(int signatureId) {
+            int hash = signatureId * 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package dev.revere.obfuscator.hierarchy;
+
+import org.objectweb.asm.ClassWriter;
+
+/**
+ * A class writer that computes frames against a {@link SupertypeResolver} instead of loading
+ * classes through a class loader.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class HierarchyClassWriter extends ClassWriter {
+    private final SupertypeResolver resolver;
+
+    public HierarchyClassWriter(int flags, SupertypeResolver resolver) {
+        super(flags);
+        this.resolver = resolver;
+    }
+
+    @Override
+    protected String getCommonSuperClass(String type1, String type2) {
+        return resolver.getCommonSuperClass(type1, type2);
+    }
+}
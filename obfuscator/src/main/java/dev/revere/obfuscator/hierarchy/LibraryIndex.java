@@ -0,0 +1,201 @@
+package dev.revere.obfuscator.hierarchy;
+
+import dev.revere.obfuscator.jar.ZipArchive;
+import dev.revere.obfuscator.logging.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Looks up class headers in the library jars and the JDK without loading any class. Libraries are
+ * only opened on the first lookup. Without an index folder, each jar is mapped and a class file is
+ * inflated the first time it is asked for; with one, headers come from the persistent
+ * {@link LibraryIndexFile} of each jar and the jars themselves are never opened once indexed.
+ * Headers are kept in a bounded LRU cache, so memory stays flat no matter how large the library
+ * folder is.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class LibraryIndex implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(LibraryIndex.class.getName());
+    private static final String[] NONE = new String[0];
+    private static final ClassHeader MISSING = new ClassHeader(null, 0, null, NONE, NONE, NONE);
+
+    private final List<Path> jarPaths;
+    private final Path indexFolder;
+    private final Map<String, ClassHeader> headers;
+    private List<LibrarySource> sources;
+    private List<Path> openedPaths;
+    private LibraryIndexStore store;
+    private List<String> contentHashes;
+
+    /**
+     * @param indexFolder folder of the persistent library indexes, or {@code null} to read the jars
+     *                    directly
+     */
+    public LibraryIndex(List<Path> jarPaths, int cacheSize, Path indexFolder) {
+        this.jarPaths = jarPaths;
+        this.indexFolder = indexFolder;
+        this.headers = new LinkedHashMap<String, ClassHeader>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ClassHeader> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Creates an index over the given library paths. Folders contribute every jar they contain.
+     */
+    public static LibraryIndex create(List<String> libraryPaths, int cacheSize, String indexFolder) throws IOException {
+        List<Path> jarPaths = new ArrayList<>();
+        for (String libraryPath : libraryPaths) {
+            Path path = Paths.get(libraryPath);
+            if (Files.isDirectory(path)) {
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(path, "*.jar")) {
+                    for (Path jarPath : stream) {
+                        jarPaths.add(jarPath);
+                    }
+                }
+            } else if (Files.isRegularFile(path) && path.getFileName().toString().toLowerCase().endsWith(".jar")) {
+                jarPaths.add(path);
+            }
+        }
+        return new LibraryIndex(jarPaths, cacheSize, indexFolder == null ? null : Paths.get(indexFolder));
+    }
+
+    /**
+     * Returns the header of a library or JDK class by internal name, or {@code null} if it cannot be
+     * found.
+     */
+    public ClassHeader getHeader(String internalName) {
+        synchronized (headers) {
+            ClassHeader header = headers.get(internalName);
+            if (header != null) {
+                return header == MISSING ? null : header;
+            }
+        }
+
+        ClassHeader header = readHeader(internalName);
+        synchronized (headers) {
+            headers.put(internalName, header == null ? MISSING : header);
+        }
+        return header;
+    }
+
+    private ClassHeader readHeader(String internalName) {
+        String entryName = internalName + ".class";
+        try {
+            for (LibrarySource source : getSources()) {
+                ClassHeader header = source.find(internalName);
+                if (header != null) {
+                    return header;
+                }
+            }
+            try (InputStream in = ClassLoader.getSystemResourceAsStream(entryName)) {
+                return in == null ? null : ClassHeader.read(readFully(in));
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning("Could not read library class " + internalName + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The SHA-256 of every library jar that could be opened, in the order the jars are searched.
+     * Jars are only hashed when this is first asked for, and not at all when the persistent index
+     * already knows their size and modification time.
+     */
+    public synchronized List<String> getContentHashes() throws IOException {
+        if (contentHashes == null) {
+            getSources();
+            List<String> hashes = new ArrayList<>(openedPaths.size());
+            for (Path jarPath : openedPaths) {
+                hashes.add(store != null ? store.hashOf(jarPath) : LibraryIndexStore.sha256(jarPath));
+            }
+            contentHashes = Collections.unmodifiableList(hashes);
+        }
+        return contentHashes;
+    }
+
+    private synchronized List<LibrarySource> getSources() {
+        if (sources == null) {
+            List<LibrarySource> opened = new ArrayList<>(jarPaths.size());
+            openedPaths = new ArrayList<>(jarPaths.size());
+            if (indexFolder != null) {
+                try {
+                    store = new LibraryIndexStore(indexFolder);
+                } catch (IOException e) {
+                    LOGGER.warning("Library index folder " + indexFolder + " is unusable, reading jars directly: " + e.getMessage());
+                }
+            }
+            for (Path jarPath : jarPaths) {
+                try {
+                    opened.add(store != null ? store.open(jarPath) : new ArchiveSource(ZipArchive.open(jarPath)));
+                    openedPaths.add(jarPath);
+                } catch (IOException e) {
+                    LOGGER.warning("Skipping unreadable library " + jarPath + ": " + e.getMessage());
+                }
+            }
+            if (store != null) {
+                try {
+                    store.save();
+                } catch (IOException e) {
+                    LOGGER.warning("Could not save the library index catalog: " + e.getMessage());
+                }
+            }
+            LOGGER.debug("Opened " + opened.size() + " libraries");
+            sources = opened;
+        }
+        return sources;
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (sources == null) {
+            return;
+        }
+        for (LibrarySource source : sources) {
+            source.close();
+        }
+        sources = null;
+    }
+
+    private static class ArchiveSource implements LibrarySource {
+        private final ZipArchive archive;
+
+        ArchiveSource(ZipArchive archive) {
+            this.archive = archive;
+        }
+
+        @Override
+        public ClassHeader find(String internalName) throws IOException {
+            ZipArchive.Entry entry = archive.getEntry(internalName + ".class");
+            return entry == null ? null : ClassHeader.read(archive.read(entry));
+        }
+
+        @Override
+        public void close() throws IOException {
+            archive.close();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package dev.revere.obfuscator.hierarchy;
+
+import dev.revere.obfuscator.jar.ZipArchive;
+import dev.revere.obfuscator.logging.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.ZipException;
+
+/**
+ * The class headers of one library jar in a memory-mapped binary file, so later runs can look them
+ * up without opening or inflating the jar.
+ * <p>
+ * The file starts with the number of classes and a table of record offsets sorted by the UTF-8
+ * bytes of the class names, so a lookup is a binary search over the mapping. Each record holds the
+ * class name, access flags, superclass, interfaces, field and method signatures. Strings are stored
+ * as a length followed by their UTF-8 bytes, with a length of -1 for {@code null}.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class LibraryIndexFile implements LibrarySource {
+    private static final Logger LOGGER = Logger.getLogger(LibraryIndexFile.class.getName());
+    private static final int MAGIC = 0x5256494C;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int classCount;
+
+    private LibraryIndexFile(FileChannel channel, ByteBuffer buffer, int classCount) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.classCount = classCount;
+    }
+
+    public static LibraryIndexFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new ZipException("Not a library index: " + path);
+            }
+            int classCount = buffer.getInt(8);
+            if (classCount < 0 || HEADER_SIZE + (long) classCount * 4 > buffer.limit()) {
+                throw new ZipException("Truncated library index: " + path);
+            }
+            return new LibraryIndexFile(channel, buffer, classCount);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the header of every class in a jar and writes them to {@code target}. The file is
+     * written to a temporary sibling first and moved into place, so readers never see a partial
+     * index.
+     */
+    public static void write(ZipArchive archive, Path target) throws IOException {
+        List<byte[]> names = new ArrayList<>();
+        List<ClassHeader> headers = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (ZipArchive.Entry entry : archive.getEntries()) {
+            if (!entry.isClass() || entry.getName().startsWith("META-INF/")) {
+                continue;
+            }
+            String internalName = entry.getName().substring(0, entry.getName().length() - ".class".length());
+            if (!seen.add(internalName)) {
+                continue;
+            }
+            try {
+                headers.add(ClassHeader.read(archive.read(entry)));
+                names.add(internalName.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException | RuntimeException e) {
+                LOGGER.debug("Skipping unreadable library class " + entry.getName() + ": " + e.getMessage());
+            }
+        }
+
+        Integer[] order = new Integer[names.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> compare(names.get(a), names.get(b)));
+
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(records);
+        int[] offsets = new int[order.length];
+        int recordsStart = HEADER_SIZE + order.length * 4;
+        for (int i = 0; i < order.length; i++) {
+            offsets[i] = recordsStart + out.size();
+            ClassHeader header = headers.get(order[i]);
+            writeBytes(out, names.get(order[i]));
+            out.writeInt(header.getAccess());
+            writeString(out, header.getSuperName());
+            writeStrings(out, header.getInterfaces());
+            writeStrings(out, header.getFields());
+            writeStrings(out, header.getMethods());
+        }
+        out.flush();
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream(recordsStart + records.size());
+        DataOutputStream fileOut = new DataOutputStream(file);
+        fileOut.writeInt(MAGIC);
+        fileOut.writeInt(VERSION);
+        fileOut.writeInt(order.length);
+        for (int offset : offsets) {
+            fileOut.writeInt(offset);
+        }
+        records.writeTo(fileOut);
+        fileOut.flush();
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, file.toByteArray());
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public int size() {
+        return classCount;
+    }
+
+    @Override
+    public ClassHeader find(String internalName) {
+        byte[] key = internalName.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer view = buffer.duplicate();
+        int low = 0;
+        int high = classCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int offset = view.getInt(HEADER_SIZE + mid * 4);
+            int cmp = compareAt(view, offset, key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return readRecord(view, offset);
+            }
+        }
+        return null;
+    }
+
+    private static ClassHeader readRecord(ByteBuffer view, int offset) {
+        view.position(offset);
+        String name = readString(view);
+        int access = view.getInt();
+        String superName = readString(view);
+        String[] interfaces = readStrings(view);
+        String[] fields = readStrings(view);
+        String[] methods = readStrings(view);
+        return new ClassHeader(name, access, superName, interfaces, fields, methods);
+    }
+
+    private static int compareAt(ByteBuffer view, int offset, byte[] key) {
+        int length = view.getInt(offset);
+        int start = offset + 4;
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = (view.get(start + i) & 0xFF) - (key[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - key.length;
+    }
+
+    private static int compare(byte[] a, byte[] b) {
+        int common = Math.min(a.length, b.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    private static String readString(ByteBuffer view) {
+        int length = view.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String[] readStrings(ByteBuffer view) {
+        String[] strings = new String[view.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readString(view);
+        }
+        return strings;
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, String[] values) throws IOException {
+        out.writeInt(values.length);
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
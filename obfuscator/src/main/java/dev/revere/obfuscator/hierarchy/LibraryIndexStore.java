@@ -0,0 +1,176 @@
+package dev.revere.obfuscator.hierarchy;
+
+import dev.revere.obfuscator.jar.ZipArchive;
+import dev.revere.obfuscator.logging.Logger;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * A folder of {@link LibraryIndexFile}s shared across runs. Index files are named after the
+ * SHA-256 of the jar they describe, so a jar is only indexed again when its content changes. A
+ * catalog remembers the size and modification time each jar had when it was hashed, so unchanged
+ * jars are not even read to find their index.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class LibraryIndexStore {
+    private static final Logger LOGGER = Logger.getLogger(LibraryIndexStore.class.getName());
+    private static final int MAGIC = 0x5256494B;
+    private static final int VERSION = 1;
+    private static final String CATALOG_FILE = "catalog.bin";
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private final Path folder;
+    private final Map<String, Stamp> catalog = new HashMap<>();
+    private boolean dirty;
+    private int built;
+
+    public LibraryIndexStore(Path folder) throws IOException {
+        this.folder = folder;
+        Files.createDirectories(folder);
+        loadCatalog();
+    }
+
+    /**
+     * Opens the index of a jar, building it first if this content was never indexed.
+     */
+    public LibraryIndexFile open(Path jarPath) throws IOException {
+        String hash = hashOf(jarPath);
+        Path indexPath = folder.resolve(hash + INDEX_SUFFIX);
+        if (Files.isRegularFile(indexPath)) {
+            try {
+                return LibraryIndexFile.open(indexPath);
+            } catch (IOException e) {
+                LOGGER.warning("Rebuilding unreadable library index " + indexPath + ": " + e.getMessage());
+            }
+        }
+
+        try (ZipArchive archive = ZipArchive.open(jarPath)) {
+            LibraryIndexFile.write(archive, indexPath);
+        }
+        built++;
+        LibraryIndexFile indexFile = LibraryIndexFile.open(indexPath);
+        LOGGER.debug("Indexed " + indexFile.size() + " classes of " + jarPath);
+        return indexFile;
+    }
+
+    /**
+     * Writes the catalog if any jar was hashed during this run and removes index files that no jar
+     * in the catalog refers to anymore.
+     */
+    public void save() throws IOException {
+        if (built > 0) {
+            LOGGER.process("Built " + built + " library indexes in " + folder);
+        }
+        if (!dirty) {
+            return;
+        }
+        catalog.keySet().removeIf(path -> !Files.isRegularFile(Paths.get(path)));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(catalog.size());
+            for (Map.Entry<String, Stamp> entry : catalog.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().size);
+                out.writeLong(entry.getValue().modified);
+                out.writeUTF(entry.getValue().hash);
+            }
+        }
+        Path catalogPath = folder.resolve(CATALOG_FILE);
+        Path temp = catalogPath.resolveSibling(CATALOG_FILE + ".tmp");
+        Files.write(temp, bytes.toByteArray());
+        Files.move(temp, catalogPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Set<String> referenced = new HashSet<>();
+        for (Stamp stamp : catalog.values()) {
+            referenced.add(stamp.hash + INDEX_SUFFIX);
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*" + INDEX_SUFFIX)) {
+            for (Path indexPath : stream) {
+                if (!referenced.contains(indexPath.getFileName().toString())) {
+                    Files.deleteIfExists(indexPath);
+                }
+            }
+        }
+        dirty = false;
+    }
+
+    /**
+     * The SHA-256 of a jar's content, read from the catalog while the jar's size and modification
+     * time are unchanged.
+     */
+    String hashOf(Path jarPath) throws IOException {
+        String key = jarPath.toAbsolutePath().normalize().toString();
+        long size = Files.size(jarPath);
+        long modified = Files.getLastModifiedTime(jarPath).toMillis();
+        Stamp stamp = catalog.get(key);
+        if (stamp != null && stamp.size == size && stamp.modified == modified) {
+            return stamp.hash;
+        }
+
+        String hash = sha256(jarPath);
+        catalog.put(key, new Stamp(size, modified, hash));
+        dirty = true;
+        return hash;
+    }
+
+    private void loadCatalog() {
+        Path catalogPath = folder.resolve(CATALOG_FILE);
+        if (!Files.isRegularFile(catalogPath)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(catalogPath)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                LOGGER.warning("Ignoring library index catalog of another version: " + catalogPath);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String path = in.readUTF();
+                long size = in.readLong();
+                long modified = in.readLong();
+                catalog.put(path, new Stamp(size, modified, in.readUTF()));
+            }
+        } catch (IOException e) {
+            catalog.clear();
+            LOGGER.warning("Ignoring unreadable library index catalog: " + e.getMessage());
+        }
+    }
+
+    static String sha256(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            byte[] hash = digest.digest();
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Stamp {
+        private final long size;
+        private final long modified;
+        private final String hash;
+
+        Stamp(long size, long modified, String hash) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+        }
+    }
+}
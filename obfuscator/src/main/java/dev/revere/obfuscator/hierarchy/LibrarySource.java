@@ -0,0 +1,20 @@
+package dev.revere.obfuscator.hierarchy;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A place class headers of a single library can be looked up in.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+interface LibrarySource extends Closeable {
+
+    /**
+     * Returns the header of a class by internal name, or {@code null} if this library does not
+     * contain it.
+     */
+    ClassHeader find(String internalName) throws IOException;
+}
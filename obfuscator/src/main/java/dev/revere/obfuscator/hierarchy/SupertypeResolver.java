@@ -0,0 +1,126 @@
+package dev.revere.obfuscator.hierarchy;
+
+import dev.revere.obfuscator.logging.Logger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Answers the supertype queries of frame computation from class headers instead of loaded classes.
+ * Pool classes are resolved through the {@link Hierarchy}, classes added after it was built through
+ * the pool itself, and everything else through the {@link LibraryIndex}.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class SupertypeResolver {
+    private static final Logger LOGGER = Logger.getLogger(SupertypeResolver.class.getName());
+    private static final String OBJECT = "java/lang/Object";
+
+    private final Hierarchy hierarchy;
+    private final Function<String, ClassHeader> poolLookup;
+    private final LibraryIndex libraryIndex;
+    private final Map<String, ClassHeader> poolHeaders = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> reportedMissing = new ConcurrentHashMap<>();
+
+    /**
+     * @param hierarchy  the hierarchy of the pool, or {@code null} if it was never built
+     * @param poolLookup finds the header of a pool class by internal name
+     */
+    public SupertypeResolver(Hierarchy hierarchy, Function<String, ClassHeader> poolLookup, LibraryIndex libraryIndex) {
+        this.hierarchy = hierarchy;
+        this.poolLookup = poolLookup;
+        this.libraryIndex = libraryIndex;
+    }
+
+    public ClassHeader getHeader(String internalName) {
+        ClassHeader header = poolHeaders.get(internalName);
+        if (header != null) {
+            return header;
+        }
+
+        if (hierarchy != null) {
+            int id = hierarchy.getId(internalName);
+            if (id >= 0 && hierarchy.getClassNode(id) != null) {
+                header = ClassHeader.of(hierarchy.getClassNode(id));
+            }
+        }
+        if (header == null) {
+            header = poolLookup.apply(internalName);
+        }
+        if (header != null) {
+            poolHeaders.put(internalName, header);
+            return header;
+        }
+        return libraryIndex.getHeader(internalName);
+    }
+
+    /**
+     * Mirrors {@link org.objectweb.asm.ClassWriter#getCommonSuperClass}. Types that cannot be found
+     * anywhere are treated as direct subclasses of {@code java/lang/Object}.
+     */
+    public String getCommonSuperClass(String type1, String type2) {
+        if (type1.equals(type2)) {
+            return type1;
+        }
+
+        ClassHeader header1 = getHeader(type1);
+        ClassHeader header2 = getHeader(type2);
+        if (header1 == null || header2 == null) {
+            reportMissing(header1 == null ? type1 : type2);
+            return OBJECT;
+        }
+        if (isAssignableFrom(type1, type2)) {
+            return type1;
+        }
+        if (isAssignableFrom(type2, type1)) {
+            return type2;
+        }
+        if (header1.isInterface() || header2.isInterface()) {
+            return OBJECT;
+        }
+
+        for (String current = header1.getSuperName(); current != null; ) {
+            if (isAssignableFrom(current, type2)) {
+                return current;
+            }
+            ClassHeader header = getHeader(current);
+            if (header == null) {
+                reportMissing(current);
+                break;
+            }
+            current = header.getSuperName();
+        }
+        return OBJECT;
+    }
+
+    /**
+     * Returns whether a value of {@code type} can be assigned to {@code superType}.
+     */
+    public boolean isAssignableFrom(String superType, String type) {
+        if (superType.equals(type) || OBJECT.equals(superType)) {
+            return true;
+        }
+        ClassHeader header = getHeader(type);
+        if (header == null) {
+            return false;
+        }
+        if (header.getSuperName() != null && isAssignableFrom(superType, header.getSuperName())) {
+            return true;
+        }
+        for (String itf : header.getInterfaces()) {
+            if (isAssignableFrom(superType, itf)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reportMissing(String type) {
+        if (reportedMissing.putIfAbsent(type, Boolean.TRUE) == null) {
+            LOGGER.warning("Class " + type + " not found in the jar or its libraries, frames using it may not verify. "
+                    + "Add the jar that contains it to libs.folder");
+        }
+    }
+}
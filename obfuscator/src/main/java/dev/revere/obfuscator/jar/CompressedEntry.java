@@ -0,0 +1,28 @@
+package dev.revere.obfuscator.jar;
+
+import lombok.Getter;
+
+/**
+ * An entry whose content has already been compressed and checksummed, ready to be written to an
+ * archive as is.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+@Getter
+public class CompressedEntry {
+    private final String name;
+    private final int method;
+    private final int crc;
+    private final long size;
+    private final byte[] data;
+
+    public CompressedEntry(String name, int method, int crc, long size, byte[] data) {
+        this.name = name;
+        this.method = method;
+        this.crc = crc;
+        this.size = size;
+        this.data = data;
+    }
+}
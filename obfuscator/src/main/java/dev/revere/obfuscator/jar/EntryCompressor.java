@@ -0,0 +1,47 @@
+package dev.revere.obfuscator.jar;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses a single entry independently of every other entry, so entries can be compressed on
+ * any thread and in any order while the archive stays identical.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class EntryCompressor {
+    private final int level;
+    private final int storeThreshold;
+
+    public EntryCompressor(int level, int storeThreshold) {
+        this.level = level;
+        this.storeThreshold = storeThreshold;
+    }
+
+    public CompressedEntry compress(String name, byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content, 0, content.length);
+
+        if (content.length <= storeThreshold || level == Deflater.NO_COMPRESSION) {
+            return new CompressedEntry(name, ZipArchive.Entry.STORED, (int) crc.getValue(), content.length, content);
+        }
+
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, content.length / 2));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                compressed.write(buffer, 0, length);
+            }
+            return new CompressedEntry(name, ZipArchive.Entry.DEFLATED, (int) crc.getValue(), content.length, compressed.toByteArray());
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -1,14 +1,13 @@
 package dev.revere.obfuscator.jar;
 
+import dev.revere.obfuscator.concurrent.WorkerPool;
 import dev.revere.obfuscator.logging.Logger;
 
-import java.io.*;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
-import java.util.jar.JarOutputStream;
 
 /**
  * @author Remi
@@ -18,71 +17,90 @@ import java.util.jar.JarOutputStream;
 public class JarHandler implements JarReader, JarWriter {
     private static final Logger LOGGER = Logger.getLogger(JarHandler.class.getName());
 
+    private static final String MANIFEST_NAME = "META-INF/MANIFEST.MF";
+    private static final Comparator<String> ENTRY_ORDER = Comparator
+            .comparing((String name) -> !name.equals(MANIFEST_NAME))
+            .thenComparing(name -> !name.startsWith("META-INF/"))
+            .thenComparing(Comparator.naturalOrder());
+
+    private final WorkerPool workerPool;
+    private final EntryCompressor compressor;
+    private final boolean reproducible;
+
+    /**
+     * @param reproducible stamp new entries with a fixed time instead of the current one
+     */
+    public JarHandler(WorkerPool workerPool, EntryCompressor compressor, boolean reproducible) {
+        this.workerPool = workerPool;
+        this.compressor = compressor;
+        this.reproducible = reproducible;
+    }
+
     @Override
-    public Map<String, byte[]> readClasses(Path inputPath) throws IOException {
-        Map<String, byte[]> classes = new HashMap<>();
-        try (JarFile jarFile = new JarFile(inputPath.toFile())) {
-            Enumeration<JarEntry> entries = jarFile.entries();
-            while (entries.hasMoreElements()) {
-                JarEntry entry = entries.nextElement();
-                if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
-                    try (InputStream is = jarFile.getInputStream(entry)) {
-                        classes.put(entry.getName(), readAllBytes(is));
-                    }
-                }
+    public ZipArchive openArchive(Path inputPath) throws IOException {
+        return ZipArchive.open(inputPath);
+    }
+
+    @Override
+    public Map<String, byte[]> readClasses(ZipArchive archive) throws IOException {
+        List<ZipArchive.Entry> classEntries = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (ZipArchive.Entry entry : archive.getEntries()) {
+            if (entry.isClass() && seen.add(entry.getName())) {
+                classEntries.add(entry);
             }
         }
+
+        List<byte[]> contents = workerPool.map(classEntries, archive::read);
+
+        Map<String, byte[]> classes = new HashMap<>();
+        for (int i = 0; i < classEntries.size(); i++) {
+            classes.put(classEntries.get(i).getName(), contents.get(i));
+        }
         return classes;
     }
 
     @Override
-    public Set<String> readResourceEntries(Path inputPath) throws IOException {
-        Set<String> resourceEntries = new HashSet<>();
-        try (JarFile jarFile = new JarFile(inputPath.toFile())) {
-            Enumeration<JarEntry> entries = jarFile.entries();
-            while (entries.hasMoreElements()) {
-                JarEntry entry = entries.nextElement();
-                if (!entry.isDirectory() && !entry.getName().endsWith(".class")) {
-                    resourceEntries.add(entry.getName());
-                }
+    public List<ZipArchive.Entry> readResourceEntries(ZipArchive archive) {
+        List<ZipArchive.Entry> resourceEntries = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (ZipArchive.Entry entry : archive.getEntries()) {
+            if (!entry.isDirectory() && !entry.isClass() && seen.add(entry.getName())) {
+                resourceEntries.add(entry);
             }
         }
         return resourceEntries;
     }
 
+    /**
+     * Writes entries sorted by name with the manifest first, so the layout of the output never
+     * depends on map iteration order.
+     */
     @Override
-    public void writeJar(Path outputPath, Map<String, byte[]> classes, Set<String> resourceEntries, Path inputPath) throws IOException {
-        try (JarOutputStream jos = new JarOutputStream(Files.newOutputStream(outputPath))) {
-            for (Map.Entry<String, byte[]> classEntry : classes.entrySet()) {
-                jos.putNextEntry(new JarEntry(classEntry.getKey()));
-                jos.write(classEntry.getValue());
-                jos.closeEntry();
-            }
+    public void writeJar(Path outputPath, Map<String, byte[]> classes, List<ZipArchive.Entry> passthroughEntries, ZipArchive inputArchive) throws IOException {
+        List<String> classNames = new ArrayList<>(classes.keySet());
+        classNames.sort(ENTRY_ORDER);
+        List<CompressedEntry> compressedClasses = workerPool.map(classNames,
+                name -> compressor.compress(name, classes.get(name)));
 
-            try (JarFile inputJar = new JarFile(inputPath.toFile())) {
-                for (String resourceEntry : resourceEntries) {
-                    JarEntry entry = inputJar.getJarEntry(resourceEntry);
-                    jos.putNextEntry(new JarEntry(resourceEntry));
-                    try (InputStream is = inputJar.getInputStream(entry)) {
-                        byte[] buffer = new byte[8192];
-                        int bytesRead;
-                        while ((bytesRead = is.read(buffer)) != -1) {
-                            jos.write(buffer, 0, bytesRead);
-                        }
-                    }
-                    jos.closeEntry();
+        List<ZipArchive.Entry> rawEntries = new ArrayList<>(passthroughEntries);
+        rawEntries.sort(Comparator.comparing(ZipArchive.Entry::getName, ENTRY_ORDER));
+
+        int dosTime = reproducible ? ZipArchiveWriter.EARLIEST_DOS_TIME : ZipArchiveWriter.toDosTime(System.currentTimeMillis());
+        try (ZipArchiveWriter writer = new ZipArchiveWriter(new BufferedOutputStream(Files.newOutputStream(outputPath), 1 << 16), dosTime)) {
+            int compressedIndex = 0;
+            int rawIndex = 0;
+            while (compressedIndex < compressedClasses.size() || rawIndex < rawEntries.size()) {
+                boolean takeRaw = compressedIndex == compressedClasses.size()
+                        || (rawIndex < rawEntries.size()
+                        && ENTRY_ORDER.compare(rawEntries.get(rawIndex).getName(), compressedClasses.get(compressedIndex).getName()) < 0);
+                if (takeRaw) {
+                    ZipArchive.Entry entry = rawEntries.get(rawIndex++);
+                    writer.writeRawEntry(entry, inputArchive.getRawData(entry));
+                } else {
+                    writer.writeEntry(compressedClasses.get(compressedIndex++));
                 }
             }
         }
     }
-
-    private byte[] readAllBytes(InputStream is) throws IOException {
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        byte[] buffer = new byte[8192];
-        int bytesRead;
-        while ((bytesRead = is.read(buffer)) != -1) {
-            bos.write(buffer, 0, bytesRead);
-        }
-        return bos.toByteArray();
-    }
 }
\ No newline at end of file
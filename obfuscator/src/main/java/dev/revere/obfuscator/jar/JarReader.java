@@ -2,8 +2,8 @@ package dev.revere.obfuscator.jar;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * @author Remi
@@ -11,6 +11,7 @@ import java.util.Set;
  * @date 10/19/2024
  */
 public interface JarReader {
-    Map<String, byte[]> readClasses(Path inputPath) throws IOException;
-    Set<String> readResourceEntries(Path inputPath) throws IOException;
-}
\ No newline at end of file
+    ZipArchive openArchive(Path inputPath) throws IOException;
+    Map<String, byte[]> readClasses(ZipArchive archive) throws IOException;
+    List<ZipArchive.Entry> readResourceEntries(ZipArchive archive);
+}
@@ -2,8 +2,8 @@ package dev.revere.obfuscator.jar;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * @author Remi
@@ -11,5 +11,5 @@ import java.util.Set;
  * @date 10/19/2024
  */
 public interface JarWriter {
-    void writeJar(Path outputPath, Map<String, byte[]> classes, Set<String> resourceEntries, Path inputPath) throws IOException;
-}
\ No newline at end of file
+    void writeJar(Path outputPath, Map<String, byte[]> classes, List<ZipArchive.Entry> passthroughEntries, ZipArchive inputArchive) throws IOException;
+}
@@ -0,0 +1,248 @@
+package dev.revere.obfuscator.jar;
+
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * A read-only view of a zip archive backed by a single memory mapping. The central directory is
+ * parsed once when the archive is opened; afterwards every entry can be read by offset from any
+ * thread without reopening the file.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class ZipArchive implements Closeable {
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final int END_HEADER_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    @Getter
+    private final List<Entry> entries;
+    private final Map<String, Entry> entriesByName;
+
+    private ZipArchive(FileChannel channel, ByteBuffer buffer, List<Entry> entries) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.entries = Collections.unmodifiableList(entries);
+        this.entriesByName = new HashMap<>(entries.size() * 2);
+        for (Entry entry : entries) {
+            entriesByName.putIfAbsent(entry.getName(), entry);
+        }
+    }
+
+    public static ZipArchive open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new ZipException("Archives larger than 2 GB are not supported: " + path);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            return new ZipArchive(channel, buffer, readCentralDirectory(buffer));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Entry getEntry(String name) {
+        return entriesByName.get(name);
+    }
+
+    /**
+     * Returns the stored bytes of an entry exactly as they appear in the archive, without
+     * inflating them.
+     */
+    public ByteBuffer getRawData(Entry entry) throws IOException {
+        ByteBuffer view = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int headerOffset = toInt(entry.localHeaderOffset);
+        if (view.getInt(headerOffset) != LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException("Invalid local header for " + entry.getName());
+        }
+        int nameLength = view.getShort(headerOffset + 26) & 0xFFFF;
+        int extraLength = view.getShort(headerOffset + 28) & 0xFFFF;
+        int dataOffset = headerOffset + 30 + nameLength + extraLength;
+
+        view.position(dataOffset);
+        view.limit(dataOffset + toInt(entry.compressedSize));
+        return view.slice();
+    }
+
+    public byte[] read(Entry entry) throws IOException {
+        ByteBuffer raw = getRawData(entry);
+        byte[] content = new byte[toInt(entry.size)];
+
+        if (entry.method == Entry.STORED) {
+            raw.get(content);
+            return content;
+        }
+        if (entry.method != Entry.DEFLATED) {
+            throw new ZipException("Unsupported compression method " + entry.method + " for " + entry.getName());
+        }
+
+        byte[] compressed = new byte[raw.remaining()];
+        raw.get(compressed);
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            int offset = 0;
+            while (offset < content.length) {
+                int read = inflater.inflate(content, offset, content.length - offset);
+                if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                offset += read;
+            }
+            if (offset != content.length) {
+                throw new ZipException("Truncated entry " + entry.getName());
+            }
+            return content;
+        } catch (DataFormatException e) {
+            throw new ZipException("Corrupt entry " + entry.getName() + ": " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static List<Entry> readCentralDirectory(ByteBuffer buffer) throws ZipException {
+        int endOffset = findEndOfCentralDirectory(buffer);
+        long entryCount = buffer.getShort(endOffset + 10) & 0xFFFF;
+        long directoryOffset = buffer.getInt(endOffset + 16) & 0xFFFFFFFFL;
+
+        int locatorOffset = endOffset - 20;
+        if (locatorOffset >= 0 && buffer.getInt(locatorOffset) == ZIP64_LOCATOR_SIGNATURE) {
+            int zip64EndOffset = toInt(buffer.getLong(locatorOffset + 8));
+            if (buffer.getInt(zip64EndOffset) != ZIP64_END_SIGNATURE) {
+                throw new ZipException("Invalid zip64 end of central directory record");
+            }
+            entryCount = buffer.getLong(zip64EndOffset + 32);
+            directoryOffset = buffer.getLong(zip64EndOffset + 48);
+        }
+
+        List<Entry> entries = new ArrayList<>((int) Math.min(entryCount, Integer.MAX_VALUE));
+        int offset = toInt(directoryOffset);
+        for (long i = 0; i < entryCount; i++) {
+            if (buffer.getInt(offset) != CENTRAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid central directory header at offset " + offset);
+            }
+            int flags = buffer.getShort(offset + 8) & 0xFFFF;
+            int method = buffer.getShort(offset + 10) & 0xFFFF;
+            int dosTime = buffer.getInt(offset + 12);
+            int crc = buffer.getInt(offset + 16);
+            long compressedSize = buffer.getInt(offset + 20) & 0xFFFFFFFFL;
+            long size = buffer.getInt(offset + 24) & 0xFFFFFFFFL;
+            int nameLength = buffer.getShort(offset + 28) & 0xFFFF;
+            int extraLength = buffer.getShort(offset + 30) & 0xFFFF;
+            int commentLength = buffer.getShort(offset + 32) & 0xFFFF;
+            long localHeaderOffset = buffer.getInt(offset + 42) & 0xFFFFFFFFL;
+
+            byte[] nameBytes = new byte[nameLength];
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset + 46);
+            view.get(nameBytes);
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+            int extraOffset = offset + 46 + nameLength;
+            int extraEnd = extraOffset + extraLength;
+            while (extraOffset + 4 <= extraEnd) {
+                int id = buffer.getShort(extraOffset) & 0xFFFF;
+                int length = buffer.getShort(extraOffset + 2) & 0xFFFF;
+                if (id == ZIP64_EXTRA_ID) {
+                    int field = extraOffset + 4;
+                    if (size == 0xFFFFFFFFL) {
+                        size = buffer.getLong(field);
+                        field += 8;
+                    }
+                    if (compressedSize == 0xFFFFFFFFL) {
+                        compressedSize = buffer.getLong(field);
+                        field += 8;
+                    }
+                    if (localHeaderOffset == 0xFFFFFFFFL) {
+                        localHeaderOffset = buffer.getLong(field);
+                    }
+                }
+                extraOffset += 4 + length;
+            }
+
+            entries.add(new Entry(name, flags, method, dosTime, crc, compressedSize, size, localHeaderOffset));
+            offset += 46 + nameLength + extraLength + commentLength;
+        }
+        return entries;
+    }
+
+    private static int findEndOfCentralDirectory(ByteBuffer buffer) throws ZipException {
+        int limit = Math.max(0, buffer.limit() - END_HEADER_SIZE - MAX_COMMENT_SIZE);
+        for (int offset = buffer.limit() - END_HEADER_SIZE; offset >= limit; offset--) {
+            if (buffer.getInt(offset) == END_SIGNATURE) {
+                return offset;
+            }
+        }
+        throw new ZipException("End of central directory record not found");
+    }
+
+    private static int toInt(long value) throws ZipException {
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new ZipException("Offset out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    @Getter
+    public static class Entry {
+        public static final int STORED = 0;
+        public static final int DEFLATED = 8;
+
+        private final String name;
+        private final int flags;
+        private final int method;
+        private final int dosTime;
+        private final int crc;
+        private final long compressedSize;
+        private final long size;
+        private final long localHeaderOffset;
+
+        Entry(String name, int flags, int method, int dosTime, int crc, long compressedSize, long size, long localHeaderOffset) {
+            this.name = name;
+            this.flags = flags;
+            this.method = method;
+            this.dosTime = dosTime;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        public boolean isDirectory() {
+            return name.endsWith("/");
+        }
+
+        public boolean isClass() {
+            return !isDirectory() && name.endsWith(".class");
+        }
+    }
+}
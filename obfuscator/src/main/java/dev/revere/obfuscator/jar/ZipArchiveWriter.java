@@ -0,0 +1,267 @@
+package dev.revere.obfuscator.jar;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A minimal zip writer that, unlike {@link java.util.zip.ZipOutputStream}, only accepts entries that
+ * are already compressed, so the deflate work can happen in parallel beforehand. Raw entries are
+ * copied byte for byte with their original method, CRC and sizes, so resources that did not change
+ * are never inflated or deflated again.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class ZipArchiveWriter implements Closeable {
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final int VERSION = 20;
+    private static final int ZIP64_VERSION = 45;
+    private static final int FLAG_DATA_DESCRIPTOR = 1 << 3;
+    private static final int FLAG_UTF8 = 1 << 11;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    /**
+     * 1980-01-01 00:00:00, the earliest time a zip entry can hold, used for reproducible output.
+     */
+    public static final int EARLIEST_DOS_TIME = (1 << 21) | (1 << 16);
+
+    private final OutputStream out;
+    private final List<CentralRecord> records = new ArrayList<>();
+    private final byte[] header = new byte[64];
+    private final byte[] copyBuffer = new byte[8192];
+    private final int dosTime;
+    private long offset;
+
+    public ZipArchiveWriter(OutputStream out) {
+        this(out, toDosTime(System.currentTimeMillis()));
+    }
+
+    /**
+     * Creates a writer that stamps every new entry with the given MS-DOS date and time. Raw entries
+     * keep the time they had in their source archive.
+     */
+    public ZipArchiveWriter(OutputStream out, int dosTime) {
+        this.out = out;
+        this.dosTime = dosTime;
+    }
+
+    /**
+     * Writes an entry that was compressed by an {@link EntryCompressor}.
+     */
+    public void writeEntry(CompressedEntry entry) throws IOException {
+        writeEntry(entry.getName(), FLAG_UTF8, entry.getMethod(), dosTime, entry.getCrc(), entry.getSize(), ByteBuffer.wrap(entry.getData()));
+    }
+
+    /**
+     * Copies an entry of another archive without decompressing it.
+     */
+    public void writeRawEntry(ZipArchive.Entry entry, ByteBuffer data) throws IOException {
+        int flags = entry.getFlags() & ~FLAG_DATA_DESCRIPTOR;
+        writeEntry(entry.getName(), flags, entry.getMethod(), entry.getDosTime(), entry.getCrc(), entry.getSize(), data);
+    }
+
+    private void writeEntry(String name, int flags, int method, int time, int crc, long size, ByteBuffer data) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        long compressedSize = data.remaining();
+        CentralRecord record = new CentralRecord(nameBytes, flags, method, time, crc, compressedSize, size, offset);
+        boolean zip64 = record.needsZip64Sizes();
+
+        putInt(0, LOCAL_HEADER_SIGNATURE);
+        putShort(4, zip64 ? ZIP64_VERSION : VERSION);
+        putShort(6, flags);
+        putShort(8, method);
+        putInt(10, time);
+        putInt(14, crc);
+        putInt(18, zip64 ? (int) ZIP64_MAGIC : (int) compressedSize);
+        putInt(22, zip64 ? (int) ZIP64_MAGIC : (int) size);
+        putShort(26, nameBytes.length);
+        putShort(28, zip64 ? 20 : 0);
+        write(header, 30);
+        write(nameBytes, nameBytes.length);
+        if (zip64) {
+            putShort(0, ZIP64_EXTRA_ID);
+            putShort(2, 16);
+            putLong(4, size);
+            putLong(12, compressedSize);
+            write(header, 20);
+        }
+        writeData(data);
+        records.add(record);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            long directoryOffset = offset;
+            for (CentralRecord record : records) {
+                writeCentralRecord(record);
+            }
+            long directorySize = offset - directoryOffset;
+
+            if (records.size() >= 0xFFFF || directoryOffset >= ZIP64_MAGIC || directorySize >= ZIP64_MAGIC) {
+                long zip64EndOffset = offset;
+                putInt(0, ZIP64_END_SIGNATURE);
+                putLong(4, 44);
+                putShort(12, ZIP64_VERSION);
+                putShort(14, ZIP64_VERSION);
+                putInt(16, 0);
+                putInt(20, 0);
+                putLong(24, records.size());
+                putLong(32, records.size());
+                putLong(40, directorySize);
+                putLong(48, directoryOffset);
+                write(header, 56);
+
+                putInt(0, ZIP64_LOCATOR_SIGNATURE);
+                putInt(4, 0);
+                putLong(8, zip64EndOffset);
+                putInt(16, 1);
+                write(header, 20);
+            }
+
+            putInt(0, END_SIGNATURE);
+            putShort(4, 0);
+            putShort(6, 0);
+            putShort(8, Math.min(records.size(), 0xFFFF));
+            putShort(10, Math.min(records.size(), 0xFFFF));
+            putInt(12, (int) Math.min(directorySize, ZIP64_MAGIC));
+            putInt(16, (int) Math.min(directoryOffset, ZIP64_MAGIC));
+            putShort(20, 0);
+            write(header, 22);
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeCentralRecord(CentralRecord record) throws IOException {
+        boolean zip64Sizes = record.needsZip64Sizes();
+        boolean zip64Offset = record.localHeaderOffset >= ZIP64_MAGIC;
+        int extraLength = (zip64Sizes || zip64Offset) ? 4 + (zip64Sizes ? 16 : 0) + (zip64Offset ? 8 : 0) : 0;
+        int version = extraLength > 0 ? ZIP64_VERSION : VERSION;
+
+        putInt(0, CENTRAL_HEADER_SIGNATURE);
+        putShort(4, version);
+        putShort(6, version);
+        putShort(8, record.flags);
+        putShort(10, record.method);
+        putInt(12, record.dosTime);
+        putInt(16, record.crc);
+        putInt(20, zip64Sizes ? (int) ZIP64_MAGIC : (int) record.compressedSize);
+        putInt(24, zip64Sizes ? (int) ZIP64_MAGIC : (int) record.size);
+        putShort(28, record.name.length);
+        putShort(30, extraLength);
+        putShort(32, 0);
+        putShort(34, 0);
+        putShort(36, 0);
+        putInt(38, 0);
+        putInt(42, zip64Offset ? (int) ZIP64_MAGIC : (int) record.localHeaderOffset);
+        write(header, 46);
+        write(record.name, record.name.length);
+
+        if (extraLength > 0) {
+            int position = 4;
+            putShort(0, ZIP64_EXTRA_ID);
+            putShort(2, extraLength - 4);
+            if (zip64Sizes) {
+                putLong(position, record.size);
+                putLong(position + 8, record.compressedSize);
+                position += 16;
+            }
+            if (zip64Offset) {
+                putLong(position, record.localHeaderOffset);
+            }
+            write(header, extraLength);
+        }
+    }
+
+    private void writeData(ByteBuffer data) throws IOException {
+        if (data.hasArray()) {
+            write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+            return;
+        }
+        ByteBuffer view = data.duplicate();
+        while (view.hasRemaining()) {
+            int length = Math.min(copyBuffer.length, view.remaining());
+            view.get(copyBuffer, 0, length);
+            write(copyBuffer, 0, length);
+        }
+    }
+
+    private void write(byte[] bytes, int length) throws IOException {
+        write(bytes, 0, length);
+    }
+
+    private void write(byte[] bytes, int from, int length) throws IOException {
+        out.write(bytes, from, length);
+        offset += length;
+    }
+
+    private void putShort(int position, int value) {
+        header[position] = (byte) value;
+        header[position + 1] = (byte) (value >>> 8);
+    }
+
+    private void putInt(int position, int value) {
+        putShort(position, value);
+        putShort(position + 2, value >>> 16);
+    }
+
+    private void putLong(int position, long value) {
+        putInt(position, (int) value);
+        putInt(position + 4, (int) (value >>> 32));
+    }
+
+    public static int toDosTime(long millis) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        if (time.getYear() < 1980) {
+            return EARLIEST_DOS_TIME;
+        }
+        return (time.getYear() - 1980) << 25
+                | time.getMonthValue() << 21
+                | time.getDayOfMonth() << 16
+                | time.getHour() << 11
+                | time.getMinute() << 5
+                | time.getSecond() >> 1;
+    }
+
+    private static class CentralRecord {
+        private final byte[] name;
+        private final int flags;
+        private final int method;
+        private final int dosTime;
+        private final int crc;
+        private final long compressedSize;
+        private final long size;
+        private final long localHeaderOffset;
+
+        CentralRecord(byte[] name, int flags, int method, int dosTime, int crc, long compressedSize, long size, long localHeaderOffset) {
+            this.name = name;
+            this.flags = flags;
+            this.method = method;
+            this.dosTime = dosTime;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        boolean needsZip64Sizes() {
+            return compressedSize >= ZIP64_MAGIC || size >= ZIP64_MAGIC;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package dev.revere.obfuscator.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timers and counters of one obfuscation run. Timers are named after the stage they measure, such
+ * as {@code read} or {@code transformer.MethodTransformer.rename}, and counters after what they
+ * count, such as {@code jar.bytes-in}. Both are safe to update from worker threads.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class MetricsRegistry {
+    private static final int REPORT_VERSION = 1;
+
+    private final Map<String, Timer> timers = new LinkedHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public Timer timer(String name) {
+        synchronized (timers) {
+            return timers.computeIfAbsent(name, Timer::new);
+        }
+    }
+
+    /**
+     * Starts timing one run of a stage; close the sample when the stage ends.
+     */
+    public Timer.Sample time(String name) {
+        return timer(name).start();
+    }
+
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    public void count(String name, long delta) {
+        if (delta != 0) {
+            counter(name).add(delta);
+        }
+    }
+
+    public long getCount(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public List<Timer> getTimers() {
+        synchronized (timers) {
+            return new ArrayList<>(timers.values());
+        }
+    }
+
+    /**
+     * Writes the timers, in the order their stages first ran, and the counters, by name, as JSON.
+     */
+    public void writeReport(Path path, Map<String, String> attributes) throws IOException {
+        StringBuilder json = new StringBuilder(4096);
+        json.append("{\n  \"version\": ").append(REPORT_VERSION);
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            json.append(",\n  ");
+            appendString(json, attribute.getKey());
+            json.append(": ");
+            appendString(json, attribute.getValue());
+        }
+        json.append(",\n  \"heapPeakBytes\": ").append(JvmStats.heapPeakBytes());
+        json.append(",\n  \"gcCount\": ").append(JvmStats.gcCount());
+        json.append(",\n  \"gcTimeMillis\": ").append(JvmStats.gcTimeMillis());
+
+        json.append(",\n  \"stages\": [");
+        List<Timer> stages = getTimers();
+        for (int i = 0; i < stages.size(); i++) {
+            Timer timer = stages.get(i);
+            json.append(i == 0 ? "\n    {" : ",\n    {");
+            json.append("\"name\": ");
+            appendString(json, timer.getName());
+            json.append(", \"count\": ").append(timer.getCount())
+                    .append(", \"timeMillis\": ").append(millis(timer.getTotalNanos()))
+                    .append(", \"maxMillis\": ").append(millis(timer.getMaxNanos()))
+                    .append(", \"allocatedBytes\": ").append(timer.getAllocatedBytes())
+                    .append(", \"gcCount\": ").append(timer.getGcCount())
+                    .append(", \"gcTimeMillis\": ").append(timer.getGcTimeMillis())
+                    .append('}');
+        }
+        json.append(stages.isEmpty() ? "]" : "\n  ]");
+
+        json.append(",\n  \"counters\": {");
+        boolean first = true;
+        for (Map.Entry<String, LongAdder> counter : new TreeMap<>(counters).entrySet()) {
+            json.append(first ? "\n    " : ",\n    ");
+            appendString(json, counter.getKey());
+            json.append(": ").append(counter.getValue().sum());
+            first = false;
+        }
+        json.append(first ? "}" : "\n  }").append("\n}\n");
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(path, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
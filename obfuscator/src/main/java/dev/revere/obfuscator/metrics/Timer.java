@@ -0,0 +1,81 @@
+package dev.revere.obfuscator.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the wall time, allocation and garbage collection of every run of one stage.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class Timer {
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder gcCount = new LongAdder();
+    private final LongAdder gcTimeMillis = new LongAdder();
+
+    Timer(String name) {
+        this.name = name;
+    }
+
+    public Sample start() {
+        return new Sample();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    public long getGcCount() {
+        return gcCount.sum();
+    }
+
+    public long getGcTimeMillis() {
+        return gcTimeMillis.sum();
+    }
+
+    /**
+     * One run of the stage, recorded when it is closed.
+     */
+    public class Sample implements AutoCloseable {
+        private final long startNanos = System.nanoTime();
+        private final long startAllocated = JvmStats.allocatedBytes();
+        private final long startGcCount = JvmStats.gcCount();
+        private final long startGcTime = JvmStats.gcTimeMillis();
+
+        @Override
+        public void close() {
+            long elapsed = System.nanoTime() - startNanos;
+            count.increment();
+            totalNanos.add(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+            long allocated = JvmStats.allocatedBytes();
+            if (allocated >= 0 && startAllocated >= 0) {
+                allocatedBytes.add(Math.max(0, allocated - startAllocated));
+            }
+            gcCount.add(JvmStats.gcCount() - startGcCount);
+            gcTimeMillis.add(JvmStats.gcTimeMillis() - startGcTime);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package dev.revere.obfuscator.naming;
+
+import org.objectweb.asm.tree.ClassNode;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * Hands out short member names that cannot collide within a type hierarchy.
+ * <p>
+ * Classes connected through superclass or interface edges form one scope. Every class in a scope
+ * gets its own range of dictionary indices, sized by how many members it may rename, so no two
+ * classes that could inherit from each other ever produce the same name. Unrelated scopes all start
+ * at index 0 and reuse the shortest names. Reserved names, such as members that keep their original
+ * names, are skipped when an index is turned into a name.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class NameAllocator {
+    private final NameDictionary dictionary;
+    private final long[] reservedIndices;
+    private final Map<String, Long> offsets;
+    private final Map<String, Integer> capacities;
+
+    private NameAllocator(NameDictionary dictionary, long[] reservedIndices, Map<String, Long> offsets, Map<String, Integer> capacities) {
+        this.dictionary = dictionary;
+        this.reservedIndices = reservedIndices;
+        this.offsets = offsets;
+        this.capacities = capacities;
+    }
+
+    /**
+     * @param capacity how many names a class may need at most
+     * @param reserved names that must never be generated
+     */
+    public static NameAllocator create(Collection<ClassNode> classNodes, ToIntFunction<ClassNode> capacity,
+                                       NameDictionary dictionary, Set<String> reserved) {
+        Map<String, String> parents = new HashMap<>();
+        for (ClassNode classNode : classNodes) {
+            parents.put(classNode.name, classNode.name);
+        }
+        for (ClassNode classNode : classNodes) {
+            if (classNode.superName != null && parents.containsKey(classNode.superName)) {
+                union(parents, classNode.name, classNode.superName);
+            }
+            for (String itf : classNode.interfaces) {
+                if (parents.containsKey(itf)) {
+                    union(parents, classNode.name, itf);
+                }
+            }
+        }
+
+        Map<String, List<ClassNode>> scopes = new HashMap<>();
+        for (ClassNode classNode : classNodes) {
+            scopes.computeIfAbsent(find(parents, classNode.name), k -> new ArrayList<>()).add(classNode);
+        }
+
+        Map<String, Long> offsets = new HashMap<>();
+        Map<String, Integer> capacities = new HashMap<>();
+        for (List<ClassNode> scope : scopes.values()) {
+            scope.sort(Comparator.comparing(classNode -> classNode.name));
+            long offset = 0;
+            for (ClassNode classNode : scope) {
+                int size = capacity.applyAsInt(classNode);
+                offsets.put(classNode.name, offset);
+                capacities.put(classNode.name, size);
+                offset += size;
+            }
+        }
+
+        long[] reservedIndices = reserved.stream()
+                .mapToLong(dictionary::indexOf)
+                .filter(index -> index >= 0)
+                .sorted()
+                .distinct()
+                .toArray();
+        return new NameAllocator(dictionary, reservedIndices, offsets, capacities);
+    }
+
+    /**
+     * Returns a fresh scope for one class. A scope is not thread-safe and is meant to be used by
+     * the single thread renaming that class.
+     */
+    public NameScope scope(String className) {
+        Long offset = offsets.get(className);
+        if (offset == null) {
+            throw new IllegalArgumentException("Class is not known to the allocator: " + className);
+        }
+        return new NameScope(this, className, offset, capacities.get(className));
+    }
+
+    String nameAt(long index) {
+        // reservedIndices[i] - i counts the free indices below the i-th reserved one and never
+        // decreases, so the reserved indices to skip are the prefix where it is at most index
+        int low = 0;
+        int high = reservedIndices.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (reservedIndices[middle] - middle <= index) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return dictionary.name(index + low);
+    }
+
+    private static String find(Map<String, String> parents, String name) {
+        String root = name;
+        while (!parents.get(root).equals(root)) {
+            root = parents.get(root);
+        }
+        while (!parents.get(name).equals(root)) {
+            String next = parents.get(name);
+            parents.put(name, root);
+            name = next;
+        }
+        return root;
+    }
+
+    private static void union(Map<String, String> parents, String first, String second) {
+        String firstRoot = find(parents, first);
+        String secondRoot = find(parents, second);
+        if (!firstRoot.equals(secondRoot)) {
+            // Keep the smaller name as root so scopes do not depend on iteration order
+            if (firstRoot.compareTo(secondRoot) < 0) {
+                parents.put(secondRoot, firstRoot);
+            } else {
+                parents.put(firstRoot, secondRoot);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package dev.revere.obfuscator.naming;
+
+import dev.revere.obfuscator.config.SettingKey;
+
+import java.util.*;
+
+/**
+ * An alphabet of characters used to spell generated names. Names are numbered in bijective base-n,
+ * so index 0 is the first character, and every name is the shortest one that is still free.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class NameDictionary {
+    public static final NameDictionary ALPHABETIC = new NameDictionary("abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ");
+    public static final NameDictionary CONFUSABLE = new NameDictionary("Il");
+    public static final NameDictionary UNICODE = new NameDictionary(
+            "аеорсухѕіјһԁԛԝαονρ");
+
+    /**
+     * The {@code dictionary} setting of the renaming transformers.
+     */
+    public static final SettingKey<NameDictionary> SETTING = SettingKey.of("dictionary", ALPHABETIC, NameDictionary::forName);
+
+    private static final int MAX_LENGTH = 12;
+
+    private final char[] alphabet;
+    private final Map<Character, Integer> positions = new HashMap<>();
+
+    private NameDictionary(String alphabet) {
+        this(alphabet.toCharArray());
+    }
+
+    private NameDictionary(char[] alphabet) {
+        this.alphabet = alphabet;
+        for (int i = 0; i < alphabet.length; i++) {
+            positions.put(alphabet[i], i);
+        }
+    }
+
+    public static NameDictionary forName(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "alphabetic":
+                return ALPHABETIC;
+            case "confusable":
+                return CONFUSABLE;
+            case "unicode":
+                return UNICODE;
+            default:
+                throw new IllegalArgumentException("Unknown name dictionary: " + name);
+        }
+    }
+
+    /**
+     * Returns a dictionary with the same characters in a random order, so generated names differ
+     * between runs unless the random source is seeded.
+     */
+    public NameDictionary shuffle(Random random) {
+        List<Character> characters = new ArrayList<>();
+        for (char c : alphabet) {
+            characters.add(c);
+        }
+        Collections.shuffle(characters, random);
+
+        char[] shuffled = new char[characters.size()];
+        for (int i = 0; i < shuffled.length; i++) {
+            shuffled[i] = characters.get(i);
+        }
+        return new NameDictionary(shuffled);
+    }
+
+    public String name(long index) {
+        StringBuilder name = new StringBuilder();
+        long remaining = index;
+        do {
+            name.append(alphabet[(int) (remaining % alphabet.length)]);
+            remaining = remaining / alphabet.length - 1;
+        } while (remaining >= 0);
+        return name.reverse().toString();
+    }
+
+    /**
+     * Returns the index that spells the given name, or -1 if the name cannot be produced by this
+     * dictionary.
+     */
+    public long indexOf(String name) {
+        if (name.isEmpty() || name.length() > MAX_LENGTH) {
+            return -1;
+        }
+        long index = 0;
+        for (int i = 0; i < name.length(); i++) {
+            Integer position = positions.get(name.charAt(i));
+            if (position == null) {
+                return -1;
+            }
+            index = index * alphabet.length + position + 1;
+        }
+        return index - 1;
+    }
+}
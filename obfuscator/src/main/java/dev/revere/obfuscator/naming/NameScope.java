@@ -0,0 +1,30 @@
+package dev.revere.obfuscator.naming;
+
+/**
+ * The names available to a single class, taken in order from the range its allocator reserved.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class NameScope {
+    private final NameAllocator allocator;
+    private final String className;
+    private final long offset;
+    private final int capacity;
+    private int used;
+
+    NameScope(NameAllocator allocator, String className, long offset, int capacity) {
+        this.allocator = allocator;
+        this.className = className;
+        this.offset = offset;
+        this.capacity = capacity;
+    }
+
+    public String next() {
+        if (used >= capacity) {
+            throw new IllegalStateException("Name range of " + className + " exhausted after " + capacity + " names");
+        }
+        return allocator.nameAt(offset + used++);
+    }
+}
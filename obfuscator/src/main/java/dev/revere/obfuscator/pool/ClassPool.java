@@ -0,0 +1,263 @@
+package dev.revere.obfuscator.pool;
+
+import dev.revere.obfuscator.concurrent.WorkerPool;
+import dev.revere.obfuscator.hierarchy.ClassHeader;
+import dev.revere.obfuscator.hierarchy.HierarchyClassWriter;
+import dev.revere.obfuscator.hierarchy.SupertypeResolver;
+import dev.revere.obfuscator.logging.Logger;
+import dev.revere.obfuscator.metrics.MetricsRegistry;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the single representation of every class in the jar. The pool is shared by the
+ * hierarchy, the transformer context and every transformer, and is serialized exactly once.
+ * <p>
+ * Classes start out as raw bytes and are only parsed into a {@link ClassNode} tree when a
+ * transformer needs one. Streaming transformers rewrite the raw bytes directly.
+ * <p>
+ * When a class is parsed, the {@link CodeSignature} of every method is recorded. On serialization,
+ * methods whose signature still matches keep the frames and max stack they were read with; only
+ * methods whose code was rewritten get their frames recomputed.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class ClassPool {
+    private static final Logger LOGGER = Logger.getLogger(ClassPool.class.getName());
+
+    private final Map<String, byte[]> rawClasses = new HashMap<>();
+    private final Map<String, ClassNode> classes = new HashMap<>();
+    private final Set<String> rewrittenRawClasses = new HashSet<>();
+    private final Map<String, byte[]> frozenClasses = new HashMap<>();
+    private final Map<MethodNode, Long> codeSignatures = new IdentityHashMap<>();
+
+    public static ClassPool of(Map<String, byte[]> classBytes) {
+        ClassPool pool = new ClassPool();
+        pool.rawClasses.putAll(classBytes);
+        return pool;
+    }
+
+    public static ClassPool parse(Map<String, byte[]> classBytes, WorkerPool workerPool) {
+        ClassPool pool = of(classBytes);
+        pool.materialize(workerPool);
+        return pool;
+    }
+
+    /**
+     * Parses every class that is still held as raw bytes. Once materialized, the pool never goes
+     * back to raw bytes until it is serialized.
+     */
+    public void materialize(WorkerPool workerPool) {
+        if (rawClasses.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<String, byte[]>> entries = new ArrayList<>(rawClasses.entrySet());
+        List<ClassNode> classNodes = workerPool.map(entries, entry -> {
+            ClassReader cr = new ClassReader(entry.getValue());
+            ClassNode classNode = new ClassNode();
+            cr.accept(classNode, 0);
+            return classNode;
+        });
+        List<long[]> signatures = workerPool.map(classNodes, classNode -> {
+            long[] methodSignatures = new long[classNode.methods.size()];
+            for (int i = 0; i < methodSignatures.length; i++) {
+                methodSignatures[i] = CodeSignature.of(classNode.methods.get(i));
+            }
+            return methodSignatures;
+        });
+
+        for (int i = 0; i < entries.size(); i++) {
+            ClassNode classNode = classNodes.get(i);
+            classes.put(entries.get(i).getKey(), classNode);
+            for (int j = 0; j < classNode.methods.size(); j++) {
+                codeSignatures.put(classNode.methods.get(j), signatures.get(i)[j]);
+            }
+        }
+        rawClasses.clear();
+        rewrittenRawClasses.clear();
+    }
+
+    public boolean isMaterialized() {
+        return rawClasses.isEmpty();
+    }
+
+    public void addClass(String entryName, ClassNode classNode) {
+        rawClasses.remove(entryName);
+        rewrittenRawClasses.remove(entryName);
+        classes.put(entryName, classNode);
+    }
+
+    public ClassNode getClass(String entryName) {
+        return classes.get(entryName);
+    }
+
+    /**
+     * Returns the header of a pool class by internal name, reading it from the raw bytes if the
+     * class was never parsed, or {@code null} if the class is not in the pool.
+     */
+    public ClassHeader getHeader(String internalName) {
+        String entryName = internalName + ".class";
+        ClassNode classNode = classes.get(entryName);
+        if (classNode != null) {
+            return ClassHeader.of(classNode);
+        }
+        byte[] classBytes = rawClasses.get(entryName);
+        return classBytes == null ? null : ClassHeader.read(classBytes);
+    }
+
+    /**
+     * Marks a class as already transformed, with the given output taken from the incremental cache.
+     * The class stays in the pool for analysis, but is skipped by every transformer and serialized
+     * as the cached bytes.
+     */
+    public void freeze(String entryName, byte[] output) {
+        frozenClasses.put(entryName, output);
+    }
+
+    public boolean isFrozen(String entryName) {
+        return frozenClasses.containsKey(entryName);
+    }
+
+    public Map<String, ClassNode> getClasses() {
+        return Collections.unmodifiableMap(classes);
+    }
+
+    public Collection<ClassNode> getClassNodes() {
+        return Collections.unmodifiableCollection(classes.values());
+    }
+
+    /**
+     * Returns the class nodes transformers may change, which excludes frozen classes.
+     */
+    public List<ClassNode> getTransformableClassNodes() {
+        List<ClassNode> transformable = new ArrayList<>(classes.size());
+        for (Map.Entry<String, ClassNode> entry : classes.entrySet()) {
+            if (!frozenClasses.containsKey(entry.getKey())) {
+                transformable.add(entry.getValue());
+            }
+        }
+        return transformable;
+    }
+
+    public Map<String, byte[]> getRawClasses() {
+        return Collections.unmodifiableMap(rawClasses);
+    }
+
+    public void updateRawClass(String entryName, byte[] bytes) {
+        if (!rawClasses.containsKey(entryName)) {
+            throw new IllegalStateException("Class is not held as raw bytes: " + entryName);
+        }
+        rawClasses.put(entryName, bytes);
+        rewrittenRawClasses.add(entryName);
+    }
+
+    /**
+     * Returns the entries that are still exactly as they were read from the input jar. These are
+     * left out of {@link #serialize} so the writer can copy them without recompressing.
+     */
+    public Set<String> getUntouchedClasses() {
+        Set<String> untouched = new HashSet<>(rawClasses.keySet());
+        untouched.removeAll(rewrittenRawClasses);
+        untouched.removeAll(frozenClasses.keySet());
+        return untouched;
+    }
+
+    public int size() {
+        return rawClasses.size() + classes.size();
+    }
+
+    /**
+     * Writes every class that changed since it was read, and returns frozen classes as their cached
+     * bytes. Untouched classes are not included. Frames are computed against {@code resolver}.
+     */
+    public Map<String, byte[]> serialize(SupertypeResolver resolver, WorkerPool workerPool, MetricsRegistry metrics) {
+        List<Map.Entry<String, ClassNode>> entries = new ArrayList<>();
+        for (Map.Entry<String, ClassNode> entry : classes.entrySet()) {
+            if (!frozenClasses.containsKey(entry.getKey())) {
+                entries.add(entry);
+            }
+        }
+        LongAdder recomputed = metrics.counter("frames.recomputed");
+        LongAdder kept = metrics.counter("frames.kept");
+        List<byte[]> contents = workerPool.map(entries, entry -> write(entry.getValue(), resolver, recomputed, kept));
+        LOGGER.debug("Recomputed frames of {} methods, kept the frames of {}", recomputed.sum(), kept.sum());
+
+        Map<String, byte[]> serialized = new HashMap<>(frozenClasses);
+        for (String entryName : rewrittenRawClasses) {
+            serialized.put(entryName, rawClasses.get(entryName));
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            serialized.put(entries.get(i).getKey(), contents.get(i));
+        }
+        return serialized;
+    }
+
+    private byte[] write(ClassNode classNode, SupertypeResolver resolver, LongAdder recomputed, LongAdder kept) {
+        Set<MethodNode> dirty = Collections.newSetFromMap(new IdentityHashMap<>());
+        int withCode = 0;
+        for (MethodNode methodNode : classNode.methods) {
+            if (methodNode.instructions.size() == 0) {
+                continue;
+            }
+            withCode++;
+            Long signature = codeSignatures.get(methodNode);
+            if (signature == null || signature != CodeSignature.of(methodNode)) {
+                dirty.add(methodNode);
+            }
+        }
+        recomputed.add(dirty.size());
+        kept.add(withCode - dirty.size());
+
+        if (!dirty.isEmpty() && dirty.size() == withCode) {
+            ClassWriter cw = new HierarchyClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES, resolver);
+            classNode.accept(cw);
+            return cw.toByteArray();
+        }
+
+        Map<MethodNode, MethodNode> reframed = new IdentityHashMap<>();
+        for (MethodNode methodNode : dirty) {
+            reframed.put(methodNode, recomputeFrames(classNode, methodNode, resolver));
+        }
+        ClassWriter cw = new HierarchyClassWriter(0, resolver);
+        Iterator<MethodNode> methods = classNode.methods.iterator();
+        classNode.accept(new ClassVisitor(Opcodes.ASM9, cw) {
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                MethodNode replacement = reframed.get(methods.next());
+                if (replacement == null) {
+                    return super.visitMethod(access, name, descriptor, signature, exceptions);
+                }
+                replacement.accept(cv);
+                return null;
+            }
+        });
+        return cw.toByteArray();
+    }
+
+    /**
+     * Writes a single method into a scratch class with frame computation enabled, and reads it back
+     * with the computed frames and max stack.
+     */
+    private static MethodNode recomputeFrames(ClassNode classNode, MethodNode methodNode, SupertypeResolver resolver) {
+        ClassWriter cw = new HierarchyClassWriter(ClassWriter.COMPUTE_FRAMES, resolver);
+        cw.visit(classNode.version, classNode.access, classNode.name, null, classNode.superName,
+                classNode.interfaces.toArray(new String[0]));
+        methodNode.accept(cw);
+        cw.visitEnd();
+
+        ClassNode framed = new ClassNode();
+        new ClassReader(cw.toByteArray()).accept(framed, 0);
+        return framed.methods.get(0);
+    }
+}
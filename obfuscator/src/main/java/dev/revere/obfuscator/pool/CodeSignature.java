@@ -0,0 +1,113 @@
+package dev.revere.obfuscator.pool;
+
+import org.objectweb.asm.ConstantDynamic;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.*;
+
+/**
+ * Hashes everything about a method's code that its stack map frames and max stack depend on: the
+ * instruction sequence, operand types, branch targets and exception handlers. Member names and
+ * string or numeric constant values are left out, so a method whose references were only renamed
+ * keeps its signature, and with it its original frames.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public final class CodeSignature {
+
+    private CodeSignature() {
+    }
+
+    public static long of(MethodNode methodNode) {
+        long hash = mix(0, methodNode.desc.hashCode());
+        hash = mix(hash, methodNode.access & Opcodes.ACC_STATIC);
+        InsnList instructions = methodNode.instructions;
+        for (AbstractInsnNode insn : instructions) {
+            hash = mix(hash, insn.getType());
+            hash = mix(hash, insn.getOpcode());
+            switch (insn.getType()) {
+                case AbstractInsnNode.INT_INSN:
+                    hash = mix(hash, ((IntInsnNode) insn).operand);
+                    break;
+                case AbstractInsnNode.VAR_INSN:
+                    hash = mix(hash, ((VarInsnNode) insn).var);
+                    break;
+                case AbstractInsnNode.IINC_INSN:
+                    hash = mix(hash, ((IincInsnNode) insn).var);
+                    break;
+                case AbstractInsnNode.TYPE_INSN:
+                    hash = mix(hash, ((TypeInsnNode) insn).desc.hashCode());
+                    break;
+                case AbstractInsnNode.FIELD_INSN:
+                    FieldInsnNode fieldInsn = (FieldInsnNode) insn;
+                    hash = mix(mix(hash, fieldInsn.owner.hashCode()), fieldInsn.desc.hashCode());
+                    break;
+                case AbstractInsnNode.METHOD_INSN:
+                    MethodInsnNode methodInsn = (MethodInsnNode) insn;
+                    hash = mix(mix(hash, methodInsn.owner.hashCode()), methodInsn.desc.hashCode());
+                    hash = mix(hash, methodInsn.itf ? 1 : 0);
+                    break;
+                case AbstractInsnNode.INVOKE_DYNAMIC_INSN:
+                    hash = mix(hash, ((InvokeDynamicInsnNode) insn).desc.hashCode());
+                    break;
+                case AbstractInsnNode.LDC_INSN:
+                    hash = mix(hash, constantType(((LdcInsnNode) insn).cst).hashCode());
+                    break;
+                case AbstractInsnNode.JUMP_INSN:
+                    hash = mix(hash, instructions.indexOf(((JumpInsnNode) insn).label));
+                    break;
+                case AbstractInsnNode.LABEL:
+                    hash = mix(hash, instructions.indexOf(insn));
+                    break;
+                case AbstractInsnNode.TABLESWITCH_INSN:
+                    TableSwitchInsnNode tableSwitch = (TableSwitchInsnNode) insn;
+                    hash = mix(mix(hash, tableSwitch.min), tableSwitch.max);
+                    hash = mix(hash, instructions.indexOf(tableSwitch.dflt));
+                    for (LabelNode label : tableSwitch.labels) {
+                        hash = mix(hash, instructions.indexOf(label));
+                    }
+                    break;
+                case AbstractInsnNode.LOOKUPSWITCH_INSN:
+                    LookupSwitchInsnNode lookupSwitch = (LookupSwitchInsnNode) insn;
+                    hash = mix(hash, instructions.indexOf(lookupSwitch.dflt));
+                    for (int key : lookupSwitch.keys) {
+                        hash = mix(hash, key);
+                    }
+                    for (LabelNode label : lookupSwitch.labels) {
+                        hash = mix(hash, instructions.indexOf(label));
+                    }
+                    break;
+                case AbstractInsnNode.MULTIANEWARRAY_INSN:
+                    MultiANewArrayInsnNode multiANewArray = (MultiANewArrayInsnNode) insn;
+                    hash = mix(mix(hash, multiANewArray.desc.hashCode()), multiANewArray.dims);
+                    break;
+                default:
+                    break;
+            }
+        }
+        for (TryCatchBlockNode tryCatch : methodNode.tryCatchBlocks) {
+            hash = mix(hash, instructions.indexOf(tryCatch.start));
+            hash = mix(hash, instructions.indexOf(tryCatch.end));
+            hash = mix(hash, instructions.indexOf(tryCatch.handler));
+            hash = mix(hash, tryCatch.type == null ? 0 : tryCatch.type.hashCode());
+        }
+        return hash;
+    }
+
+    private static String constantType(Object cst) {
+        if (cst instanceof Type) {
+            return ((Type) cst).getDescriptor();
+        }
+        if (cst instanceof ConstantDynamic) {
+            return ((ConstantDynamic) cst).getDescriptor();
+        }
+        return cst.getClass().getName();
+    }
+
+    private static long mix(long hash, int value) {
+        hash = (hash ^ value) * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+}
@@ -0,0 +1,76 @@
+package dev.revere.obfuscator.profile;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Attributes the execution samples in a JFR recording to methods of the input jar, by the rule
+ * described on {@link MethodProfile}. Kept apart from {@link MethodProfile} so the JFR API is only
+ * loaded when a recording is actually read.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+final class JfrProfileReader {
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+
+    private JfrProfileReader() {
+    }
+
+    static MethodProfile read(Path path, Predicate<String> inputClass) throws IOException {
+        try {
+            Map<String, Long> samples = new HashMap<>();
+            long unattributed = countSamples(path, inputClass, samples);
+            return MethodProfile.of(samples, unattributed);
+        } catch (NoClassDefFoundError e) {
+            throw new IOException("Reading JFR recordings needs a Java runtime with the jdk.jfr module: " + path);
+        }
+    }
+
+    /**
+     * Adds the samples of each input method to {@code samples} and returns the number of samples
+     * without any input frame.
+     */
+    private static long countSamples(Path path, Predicate<String> inputClass, Map<String, Long> samples) throws IOException {
+        long unattributed = 0;
+        try (RecordingFile recording = new RecordingFile(path)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                if (!event.getEventType().getName().equals(EXECUTION_SAMPLE)) {
+                    continue;
+                }
+                RecordedStackTrace stackTrace = event.getStackTrace();
+                if (stackTrace == null) {
+                    continue;
+                }
+                String key = null;
+                for (RecordedFrame frame : stackTrace.getFrames()) {
+                    if (frame.isJavaFrame()) {
+                        RecordedMethod method = frame.getMethod();
+                        String owner = method.getType().getName().replace('.', '/');
+                        if (inputClass.test(owner)) {
+                            key = owner + '.' + method.getName() + method.getDescriptor();
+                            break;
+                        }
+                    }
+                }
+                if (key != null) {
+                    samples.merge(key, 1L, Long::sum);
+                } else {
+                    unattributed++;
+                }
+            }
+        }
+        return unattributed;
+    }
+}
@@ -0,0 +1,149 @@
+package dev.revere.obfuscator.profile;
+
+import dev.revere.obfuscator.config.SettingKey;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * How much of the application's CPU time each method takes, as its share of the profiler samples.
+ * Transformers compare the share against their {@link #HOT_THRESHOLD} to keep runtime-costly
+ * changes out of the methods that dominate CPU.
+ * <p>
+ * A profile is read from a JFR recording ({@code .jfr}, from its {@code jdk.ExecutionSample}
+ * events) or from a hotness file. A JFR sample is attributed to the innermost frame whose class is
+ * in the input jar, so time spent in JDK or library code called from an input method, such as
+ * {@code String.length} in a loop, counts towards that method. Samples without any input frame
+ * count only towards the total, keeping shares relative to the whole application. A hotness file
+ * has one {@code <class>.<method>[<descriptor>] <samples>} line per method, where lines starting
+ * with {@code #} are comments. Class names may use dots or slashes; a method without a descriptor
+ * stands for all of its overloads.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public final class MethodProfile {
+    public static final MethodProfile EMPTY = new MethodProfile(Collections.emptyMap(), Collections.emptyMap(), 0);
+
+    /**
+     * The {@code hot-threshold} setting of the transformers that read the profile: the share of CPU
+     * samples, in percent, from which a method counts as hot.
+     */
+    public static final SettingKey<Double> HOT_THRESHOLD = SettingKey.decimal("hot-threshold", 1.0, 0, 100);
+
+    private final Map<String, Long> methods;
+    private final Map<String, Long> overloads;
+    private final long total;
+
+    private MethodProfile(Map<String, Long> methods, Map<String, Long> overloads, long total) {
+        this.methods = methods;
+        this.overloads = overloads;
+        this.total = total;
+    }
+
+    /**
+     * @param inputClass whether an internal class name belongs to the input jar, which JFR samples
+     *                   are attributed to
+     */
+    public static MethodProfile load(Path path, Predicate<String> inputClass) throws IOException {
+        return path.getFileName().toString().endsWith(".jfr") ? JfrProfileReader.read(path, inputClass) : readHotnessFile(path);
+    }
+
+    /**
+     * Builds a profile from sample counts keyed by {@code owner.name} or {@code owner.name+desc},
+     * with internal class names, plus samples that belong to no method but still count towards the
+     * total.
+     */
+    static MethodProfile of(Map<String, Long> samples, long unattributed) {
+        Map<String, Long> methods = new HashMap<>();
+        Map<String, Long> overloads = new HashMap<>();
+        long total = unattributed;
+        for (Map.Entry<String, Long> entry : samples.entrySet()) {
+            String key = entry.getKey();
+            int descriptor = key.indexOf('(');
+            if (descriptor >= 0) {
+                methods.merge(key, entry.getValue(), Long::sum);
+                overloads.merge(key.substring(0, descriptor), entry.getValue(), Long::sum);
+            } else {
+                overloads.merge(key, entry.getValue(), Long::sum);
+            }
+            total += entry.getValue();
+        }
+        return new MethodProfile(methods, overloads, total);
+    }
+
+    private static MethodProfile readHotnessFile(Path path) throws IOException {
+        Map<String, Long> samples = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                try {
+                    if (parts.length != 2) {
+                        throw new IllegalArgumentException("expected <method> <samples>");
+                    }
+                    long count = Long.parseLong(parts[1]);
+                    if (count < 0) {
+                        throw new IllegalArgumentException("negative sample count");
+                    }
+                    samples.merge(key(parts[0]), count, Long::sum);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Invalid hotness entry on line " + lineNumber + " of " + path + ": " + line);
+                }
+            }
+        }
+        return of(samples, 0);
+    }
+
+    /**
+     * Turns {@code a.b.C.method(I)V} into the {@code a/b/C.method(I)V} key the profile is indexed by.
+     */
+    private static String key(String method) {
+        int descriptor = method.indexOf('(');
+        String qualifiedName = descriptor < 0 ? method : method.substring(0, descriptor);
+        int dot = qualifiedName.lastIndexOf('.');
+        if (dot <= 0 || dot == qualifiedName.length() - 1) {
+            throw new IllegalArgumentException("expected <class>.<method>");
+        }
+        String owner = qualifiedName.substring(0, dot).replace('.', '/');
+        return owner + qualifiedName.substring(dot) + (descriptor < 0 ? "" : method.substring(descriptor));
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    public long getTotalSamples() {
+        return total;
+    }
+
+    /**
+     * The share of samples, in percent, taken by a method, falling back to the samples of all its
+     * overloads when the profile has none for this descriptor.
+     */
+    public double share(String owner, String name, String desc) {
+        if (total == 0) {
+            return 0;
+        }
+        String qualifiedName = owner + '.' + name;
+        Long samples = methods.get(qualifiedName + desc);
+        if (samples == null) {
+            samples = overloads.get(qualifiedName);
+        }
+        return samples == null ? 0 : samples * 100.0 / total;
+    }
+}
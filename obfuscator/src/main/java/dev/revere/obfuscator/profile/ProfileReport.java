@@ -0,0 +1,76 @@
+package dev.revere.obfuscator.profile;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The methods transformers spared because the profile shows them as hot, and why. Entries may be
+ * recorded from any number of threads.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class ProfileReport {
+    private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+
+    public void record(String transformer, String owner, String name, String desc, double share, double threshold) {
+        entries.add(new Entry(transformer, owner + '.' + name + desc, share, threshold));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * The recorded entries, hottest first and then by transformer and method, so reports of the
+     * same input are identical however classes were scheduled.
+     */
+    public List<Entry> getEntries() {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingDouble((Entry entry) -> -entry.share)
+                .thenComparing(entry -> entry.transformer)
+                .thenComparing(entry -> entry.method));
+        return sorted;
+    }
+
+    /**
+     * Writes one tab-separated line per spared method: transformer, method, share of samples and
+     * the threshold it reached.
+     */
+    public void write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("# transformer\tmethod\tsamples\treason\n");
+            for (Entry entry : getEntries()) {
+                writer.write(String.format(Locale.ROOT, "%s\t%s\t%.2f%%\tat or above hot-threshold %.2f%%\n",
+                        entry.transformer, entry.method, entry.share, entry.threshold));
+            }
+        }
+    }
+
+    @Getter
+    public static final class Entry {
+        private final String transformer;
+        private final String method;
+        private final double share;
+        private final double threshold;
+
+        Entry(String transformer, String method, double share, double threshold) {
+            this.transformer = transformer;
+            this.method = method;
+            this.share = share;
+            this.threshold = threshold;
+        }
+    }
+}
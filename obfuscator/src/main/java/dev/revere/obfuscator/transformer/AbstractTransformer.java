@@ -1,13 +1,12 @@
 package dev.revere.obfuscator.transformer;
 
-import dev.revere.obfuscator.classloader.ClassLoaderProvider;
 import dev.revere.obfuscator.config.Configuration;
-import dev.revere.obfuscator.exception.ObfuscationException;
+import dev.revere.obfuscator.config.SettingKey;
+import dev.revere.obfuscator.profile.MethodProfile;
 import dev.revere.obfuscator.transformer.context.TransformerContext;
-import org.objectweb.asm.ClassWriter;
-import org.objectweb.asm.tree.ClassNode;
 
-import java.util.Map;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * @author Remi
@@ -26,18 +25,66 @@ public abstract class AbstractTransformer implements Transformer {
         return name;
     }
 
-    public abstract Map<String, ClassNode> transform(Map<String, ClassNode> classNodes, Configuration config, TransformerContext context) throws ObfuscationException;
+    /**
+     * The phases of this transformer, in execution order. Per-class phases may run concurrently, so
+     * any state shared between classes must be thread-safe or written in a global phase.
+     */
+    public abstract List<TransformerPhase> getPhases();
 
-    protected boolean shouldTransform(String className, Configuration config) {
-        return TransformerFilter.shouldTransform(className, getName(), config);
+    /**
+     * The custom settings this transformer reads. They are parsed and validated once, when the
+     * transformer is registered, and read back through {@code Configuration.getSettings}.
+     */
+    public List<SettingKey<?>> getSettingKeys() {
+        return Collections.emptyList();
     }
 
-    public ClassWriter getClassWriter(ClassLoaderProvider classLoaderProvider) {
-        return new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES) {
-            @Override
-            protected ClassLoader getClassLoader() {
-                return classLoaderProvider.getClassLoader();
+    /**
+     * A transformer is local when its only per-class phase can be applied as a visitor. Local
+     * transformers can be fused into a single streaming pass over the raw class bytes.
+     */
+    public boolean isLocal() {
+        TransformerPhase perClassPhase = null;
+        for (TransformerPhase phase : getPhases()) {
+            if (phase.getKind() == TransformerPhase.Kind.PER_CLASS) {
+                if (perClassPhase != null) {
+                    return false;
+                }
+                perClassPhase = phase;
             }
-        };
+        }
+        return perClassPhase != null && perClassPhase.isStreamable();
     }
-}
\ No newline at end of file
+
+    protected boolean shouldTransform(String className, TransformerContext context) {
+        return context.getFilter().shouldTransform(className, getName());
+    }
+
+    /**
+     * Whether the profile of this run shows a method as too hot for this transformer's runtime-costly
+     * changes, by the transformer's {@link MethodProfile#HOT_THRESHOLD} setting, which it must declare.
+     * Methods renamed earlier in the run are looked up, and recorded in the run's profile report when
+     * hot, under the name they have in the input jar.
+     */
+    protected boolean isHot(String owner, String name, String desc, Configuration config, TransformerContext context) {
+        MethodProfile profile = context.getProfile();
+        if (profile.isEmpty()) {
+            return false;
+        }
+        String originalName = context.getMappingStore().getOriginalMethodName(owner, name, desc);
+        double share = profile.share(owner, originalName, desc);
+        double threshold = config.getSettings(getName()).get(MethodProfile.HOT_THRESHOLD);
+        if (share == 0 || share < threshold) {
+            return false;
+        }
+        context.getProfileReport().record(getName(), owner, originalName, desc, share, threshold);
+        return true;
+    }
+
+    /**
+     * Adds to the {@code transformer.<name>.<metric>} counter of this run.
+     */
+    protected void count(TransformerContext context, String metric, long delta) {
+        context.getMetrics().count("transformer." + getName() + "." + metric, delta);
+    }
+}
@@ -2,76 +2,159 @@ package dev.revere.obfuscator.transformer;
 
 import dev.revere.obfuscator.config.Configuration;
 import dev.revere.obfuscator.logging.Logger;
+import dev.revere.obfuscator.util.GlobMatcher;
 
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Decides which transformers apply to which classes, from the global and per-transformer
+ * inclusion and exclusion patterns.
+ * <p>
+ * Patterns are globs over the class name, where {@code *} and {@code ?} stay within a package and
+ * {@code **} crosses packages; {@code pkg/**} keeps matching every class whose name starts with
+ * {@code pkg}. Patterns starting with {@code ^} match one class exactly. All patterns are compiled
+ * once, the globs into a single {@link GlobMatcher}, each tagged with the rule list it belongs to,
+ * so one pass over a class name finds every rule that applies. The decision for a class is computed
+ * for every transformer the first time it is asked for and cached as a bitset, so every later
+ * lookup is a single map access.
+ *
  * @author Remi
  * @project revere-java-obfuscator
  * @date 10/18/2024
  */
 public class TransformerFilter {
     private static final Logger LOGGER = Logger.getLogger(TransformerFilter.class.getName());
+    private static final int GLOBAL_EXCLUDED = 0;
+    private static final int GLOBAL_INCLUDED = 1;
 
-    public static boolean shouldTransform(String className, String transformerName, Configuration config) {
-        boolean isGloballyExcluded = matchesAny(className, config.getGlobalExclusions());
-        boolean isGloballyIncluded = matchesAny(className, config.getGlobalInclusions());
-        boolean isTransformerExcluded = matchesAny(className, config.getExclusions(transformerName));
-        boolean isTransformerIncluded = matchesAny(className, config.getInclusions(transformerName));
+    private final List<String> transformerNames;
+    private final Map<String, Integer> transformerIds = new HashMap<>();
+    private final List<String> globs = new ArrayList<>();
+    private final List<Integer> globRules = new ArrayList<>();
+    private final Map<String, BitSet> exactMatches = new HashMap<>();
+    private GlobMatcher globMatcher;
+    private final Map<String, BitSet> decisions = new ConcurrentHashMap<>();
 
-        if (isGloballyExcluded) {
-            if (isTransformerIncluded) {
-                LOGGER.debug("Including class " + className + " because it is included by transformer " + transformerName);
+    private TransformerFilter(List<String> transformerNames) {
+        this.transformerNames = transformerNames;
+        for (int i = 0; i < transformerNames.size(); i++) {
+            transformerIds.put(transformerNames.get(i), i);
+        }
+    }
+
+    /**
+     * Compiles the patterns of the global lists and of the given transformers. Transformers not in
+     * {@code transformerNames} are filtered by the global lists only.
+     */
+    public static TransformerFilter compile(Configuration config, Collection<String> transformerNames) {
+        TransformerFilter filter = new TransformerFilter(new ArrayList<>(new LinkedHashSet<>(transformerNames)));
+        filter.addRules(config.getGlobalExclusions(), GLOBAL_EXCLUDED);
+        filter.addRules(config.getGlobalInclusions(), GLOBAL_INCLUDED);
+        for (int i = 0; i < filter.transformerNames.size(); i++) {
+            String transformerName = filter.transformerNames.get(i);
+            filter.addRules(config.getExclusions(transformerName), excludedRule(i));
+            filter.addRules(config.getInclusions(transformerName), includedRule(i));
+        }
+        filter.globMatcher = GlobMatcher.compile(filter.globs, ".");
+        return filter;
+    }
+
+    public boolean shouldTransform(String className, String transformerName) {
+        BitSet decision = decisions.computeIfAbsent(className, this::decide);
+        Integer id = transformerIds.get(transformerName);
+        return decision.get(id == null ? transformerNames.size() : id);
+    }
+
+    private void addRules(List<String> patterns, int rule) {
+        for (String pattern : patterns) {
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            if (pattern.startsWith("^")) {
+                exactMatches.computeIfAbsent(pattern.substring(1).replace('/', '.'), k -> new BitSet()).set(rule);
+            } else if (pattern.endsWith("/**")) {
+                globs.add(pattern.substring(0, pattern.length() - 3).replace('/', '.') + "**");
+                globRules.add(rule);
+            } else {
+                globs.add(pattern.replace('/', '.'));
+                globRules.add(rule);
+            }
+        }
+    }
+
+    private BitSet match(String className) {
+        BitSet matched = new BitSet();
+        BitSet exact = exactMatches.get(className);
+        if (exact != null) {
+            matched.or(exact);
+        }
+        for (int index : globMatcher.match(className)) {
+            matched.set(globRules.get(index));
+        }
+        return matched;
+    }
+
+    private BitSet decide(String className) {
+        BitSet matched = match(className);
+        boolean globallyExcluded = matched.get(GLOBAL_EXCLUDED);
+        boolean globallyIncluded = matched.get(GLOBAL_INCLUDED);
+
+        BitSet decision = new BitSet(transformerNames.size() + 1);
+        for (int i = 0; i < transformerNames.size(); i++) {
+            if (decide(className, transformerNames.get(i), globallyExcluded, globallyIncluded,
+                    matched.get(excludedRule(i)), matched.get(includedRule(i)))) {
+                decision.set(i);
+            }
+        }
+        if (!globallyExcluded) {
+            decision.set(transformerNames.size());
+        }
+        return decision;
+    }
+
+    private static boolean decide(String className, String transformerName, boolean globallyExcluded, boolean globallyIncluded,
+                                  boolean transformerExcluded, boolean transformerIncluded) {
+        if (globallyExcluded) {
+            if (transformerIncluded) {
+                LOGGER.debug("Including class {} because it is included by transformer {}", className, transformerName);
                 return true;
             }
             return false;
         }
 
-        if (isGloballyIncluded) {
-            if (isTransformerExcluded) {
-                LOGGER.debug("Skipping class " + className + " because it is excluded by transformer " + transformerName);
+        if (globallyIncluded) {
+            if (transformerExcluded) {
+                LOGGER.debug("Skipping class {} because it is excluded by transformer {}", className, transformerName);
                 return false;
             }
-
             return true;
         }
 
-        if (isTransformerIncluded) {
-            LOGGER.debug("Including class " + className + " because it is included by transformer " + transformerName);
+        if (transformerIncluded) {
+            LOGGER.debug("Including class {} because it is included by transformer {}", className, transformerName);
 
-            if (isTransformerExcluded) {
-                LOGGER.debug("Skipping class " + className + " because it is excluded by transformer " + transformerName);
+            if (transformerExcluded) {
+                LOGGER.debug("Skipping class {} because it is excluded by transformer {}", className, transformerName);
                 return false;
             }
             return true;
         }
 
         // If the class is neither globally included nor excluded, check transformer-specific exclusions
-        if (isTransformerExcluded) {
-            LOGGER.debug("Skipping class " + className + " because it is excluded by transformer " + transformerName);
+        if (transformerExcluded) {
+            LOGGER.debug("Skipping class {} because it is excluded by transformer {}", className, transformerName);
             return false;
         }
 
         return true;
     }
-    private static boolean matchesAny(String className, List<String> patterns) {
-        for (String pattern : patterns) {
-            if (matchesPattern(className, pattern)) {
-                return true;
-            }
-        }
-        return false;
+
+    private static int excludedRule(int transformerId) {
+        return 2 + transformerId * 2;
     }
 
-    private static boolean matchesPattern(String className, String pattern) {
-        if (pattern.endsWith("/**")) {
-            String basePattern = pattern.substring(0, pattern.length() - 3);
-            return className.startsWith(basePattern.replace('/', '.'));
-        } else if (pattern.startsWith("^")) {
-            String specificClass = pattern.substring(1);
-            return className.equals(specificClass.replace('/', '.'));
-        } else {
-            return className.equals(pattern.replace('/', '.'));
-        }
+    private static int includedRule(int transformerId) {
+        return 3 + transformerId * 2;
     }
-}
\ No newline at end of file
+}
@@ -43,6 +43,7 @@ public class TransformerManager {
     }
 
     public void addTransformer(AbstractTransformer transformer) {
+        config.compileSettings(transformer.getName(), transformer.getSettingKeys());
         transformers.add(transformer);
     }
 
@@ -0,0 +1,80 @@
+package dev.revere.obfuscator.transformer;
+
+import dev.revere.obfuscator.config.Configuration;
+import dev.revere.obfuscator.exception.ObfuscationException;
+import dev.revere.obfuscator.pool.ClassPool;
+import dev.revere.obfuscator.transformer.context.TransformerContext;
+import lombok.Getter;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.tree.ClassNode;
+
+/**
+ * A single step of a transformer. Global phases run once on the calling thread and may touch the
+ * whole pool, per-class phases are fanned out across the worker pool and must only mutate the
+ * class they are given. A per-class phase may additionally offer an equivalent {@link ClassVisitor}
+ * so that it can run in streaming mode without building a tree.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+@Getter
+public final class TransformerPhase {
+    private final String name;
+    private final Kind kind;
+    private final GlobalAction globalAction;
+    private final ClassAction classAction;
+    private final VisitorFactory visitorFactory;
+
+    private TransformerPhase(String name, Kind kind, GlobalAction globalAction, ClassAction classAction, VisitorFactory visitorFactory) {
+        this.name = name;
+        this.kind = kind;
+        this.globalAction = globalAction;
+        this.classAction = classAction;
+        this.visitorFactory = visitorFactory;
+    }
+
+    public static TransformerPhase global(String name, GlobalAction action) {
+        return new TransformerPhase(name, Kind.GLOBAL, action, null, null);
+    }
+
+    public static TransformerPhase perClass(String name, ClassAction action) {
+        return new TransformerPhase(name, Kind.PER_CLASS, null, action, null);
+    }
+
+    /**
+     * Returns a copy of this per-class phase that can also be applied as a visitor. The visitor must
+     * produce the same result as the tree action and must not invalidate existing stack map frames,
+     * since streamed classes are written with {@link org.objectweb.asm.ClassWriter#COMPUTE_MAXS} only.
+     */
+    public TransformerPhase withVisitor(VisitorFactory visitorFactory) {
+        if (kind != Kind.PER_CLASS) {
+            throw new IllegalStateException("Only per-class phases can be streamed: " + name);
+        }
+        return new TransformerPhase(name, kind, null, classAction, visitorFactory);
+    }
+
+    public boolean isStreamable() {
+        return visitorFactory != null;
+    }
+
+    public enum Kind {
+        GLOBAL,
+        PER_CLASS
+    }
+
+    @FunctionalInterface
+    public interface GlobalAction {
+        void run(ClassPool classPool, Configuration config, TransformerContext context) throws ObfuscationException;
+    }
+
+    @FunctionalInterface
+    public interface ClassAction {
+        void apply(ClassNode classNode, Configuration config, TransformerContext context) throws ObfuscationException;
+    }
+
+    @FunctionalInterface
+    public interface VisitorFactory {
+        ClassVisitor create(ClassVisitor next, Configuration config, TransformerContext context);
+    }
+}
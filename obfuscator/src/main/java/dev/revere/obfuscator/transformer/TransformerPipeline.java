@@ -0,0 +1,198 @@
+package dev.revere.obfuscator.transformer;
+
+import dev.revere.obfuscator.concurrent.WorkerPool;
+import dev.revere.obfuscator.config.Configuration;
+import dev.revere.obfuscator.exception.ObfuscationException;
+import dev.revere.obfuscator.hierarchy.Hierarchy;
+import dev.revere.obfuscator.logging.Logger;
+import dev.revere.obfuscator.metrics.MetricsRegistry;
+import dev.revere.obfuscator.metrics.Timer;
+import dev.revere.obfuscator.pool.ClassPool;
+import dev.revere.obfuscator.transformer.context.TransformerContext;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.tree.ClassNode;
+
+import java.util.*;
+
+/**
+ * Runs the enabled transformers over a class pool. In streaming mode, consecutive local
+ * transformers are fused into a single ClassReader to ClassWriter pass over the raw class bytes,
+ * and the pool is only materialized into a tree once a transformer needs one.
+ * <p>
+ * Every phase is timed in the context's metrics as {@code transformer.<name>.<phase>}, and each
+ * transformer as a whole as {@code transformer.<name>}, except for the per-class phases of fused
+ * transformers, which share the {@code streaming} timer.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class TransformerPipeline {
+    private static final Logger LOGGER = Logger.getLogger(TransformerPipeline.class.getName());
+
+    private final Configuration config;
+    private final WorkerPool workerPool;
+
+    public TransformerPipeline(Configuration config, WorkerPool workerPool) {
+        this.config = config;
+        this.workerPool = workerPool;
+    }
+
+    public void run(List<AbstractTransformer> transformers, ClassPool classPool, TransformerContext context) throws ObfuscationException {
+        if (!config.isStreamingEnabled()) {
+            materialize(classPool, context);
+        }
+
+        int index = 0;
+        while (index < transformers.size()) {
+            if (!classPool.isMaterialized() && transformers.get(index).isLocal()) {
+                int end = index;
+                while (end < transformers.size() && transformers.get(end).isLocal()) {
+                    end++;
+                }
+                applyStreaming(transformers.subList(index, end), classPool, context);
+                index = end;
+            } else {
+                materialize(classPool, context);
+                applyTransformer(transformers.get(index), classPool, context);
+                index++;
+            }
+        }
+    }
+
+    private void materialize(ClassPool classPool, TransformerContext context) {
+        if (classPool.isMaterialized() && context.getHierarchy() != null) {
+            return;
+        }
+        MetricsRegistry metrics = context.getMetrics();
+        try (Timer.Sample ignored = metrics.time("materialize")) {
+            classPool.materialize(workerPool);
+        }
+        try (Timer.Sample ignored = metrics.time("hierarchy")) {
+            context.setHierarchy(buildHierarchy(classPool, context));
+        }
+    }
+
+    private Hierarchy buildHierarchy(ClassPool classPool, TransformerContext context) {
+        Hierarchy hierarchy = workerPool.collect(new ArrayList<>(classPool.getClassNodes()),
+                Hierarchy::new, Hierarchy::addClass, Hierarchy::merge);
+        hierarchy.buildHierarchy(context.getLibraryIndex());
+        return hierarchy;
+    }
+
+    private void applyTransformer(AbstractTransformer transformer, ClassPool classPool, TransformerContext context) throws ObfuscationException {
+        LOGGER.debug("Applying transformer: {}", transformer.getName());
+        try (Timer.Sample ignored = context.getMetrics().time("transformer." + transformer.getName())) {
+            for (TransformerPhase phase : transformer.getPhases()) {
+                if (phase.getKind() == TransformerPhase.Kind.GLOBAL) {
+                    runGlobal(transformer, phase, classPool, context);
+                } else {
+                    runPerClass(transformer, phase, classPool.getTransformableClassNodes(), context);
+                }
+            }
+        }
+    }
+
+    /**
+     * Global phases of a fused segment run before and after the single streaming pass. Classes added
+     * by a trailing global phase, such as the string decryptor, are still handed to the per-class
+     * phases of the transformers that follow it in the segment.
+     */
+    private void applyStreaming(List<AbstractTransformer> segment, ClassPool classPool, TransformerContext context) throws ObfuscationException {
+        List<TransformerPhase> classPhases = new ArrayList<>();
+        for (AbstractTransformer transformer : segment) {
+            LOGGER.debug("Streaming transformer: {}", transformer.getName());
+            for (TransformerPhase phase : transformer.getPhases()) {
+                if (phase.getKind() == TransformerPhase.Kind.PER_CLASS) {
+                    classPhases.add(phase);
+                    break;
+                }
+                runGlobal(transformer, phase, classPool, context);
+            }
+        }
+
+        List<Map.Entry<String, byte[]>> entries = new ArrayList<>();
+        for (Map.Entry<String, byte[]> entry : classPool.getRawClasses().entrySet()) {
+            if (!classPool.isFrozen(entry.getKey())) {
+                entries.add(entry);
+            }
+        }
+        List<byte[]> contents;
+        context.getMetrics().count("streaming.classes", entries.size());
+        try (Timer.Sample ignored = context.getMetrics().time("streaming")) {
+            contents = workerPool.map(entries, entry -> {
+                ClassReader cr = new ClassReader(entry.getValue());
+                ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+                ClassVisitor cv = cw;
+                for (int i = classPhases.size() - 1; i >= 0; i--) {
+                    cv = classPhases.get(i).getVisitorFactory().create(cv, config, context);
+                }
+                cr.accept(cv, 0);
+                return cw.toByteArray();
+            });
+        } catch (RuntimeException e) {
+            throw new ObfuscationException("Failed to stream classes: " + e.getMessage());
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            classPool.updateRawClass(entries.get(i).getKey(), contents.get(i));
+        }
+
+        List<ClassNode> classNodes = classPool.getTransformableClassNodes();
+        for (int i = 0; i < segment.size(); i++) {
+            runPerClass(segment.get(i), classPhases.get(i), classNodes, context);
+        }
+
+        for (int i = 0; i < segment.size(); i++) {
+            AbstractTransformer transformer = segment.get(i);
+            Set<String> before = new HashSet<>(classPool.getClasses().keySet());
+
+            boolean trailing = false;
+            for (TransformerPhase phase : transformer.getPhases()) {
+                if (phase.getKind() == TransformerPhase.Kind.PER_CLASS) {
+                    trailing = true;
+                } else if (trailing) {
+                    runGlobal(transformer, phase, classPool, context);
+                }
+            }
+
+            List<ClassNode> added = new ArrayList<>();
+            for (Map.Entry<String, ClassNode> entry : classPool.getClasses().entrySet()) {
+                if (!before.contains(entry.getKey())) {
+                    added.add(entry.getValue());
+                }
+            }
+            for (int j = i + 1; j < segment.size() && !added.isEmpty(); j++) {
+                runPerClass(segment.get(j), classPhases.get(j), added, context);
+            }
+        }
+    }
+
+    private void runGlobal(AbstractTransformer transformer, TransformerPhase phase, ClassPool classPool, TransformerContext context) throws ObfuscationException {
+        try (Timer.Sample ignored = context.getMetrics().time(phaseMetric(transformer, phase))) {
+            phase.getGlobalAction().run(classPool, config, context);
+        } catch (RuntimeException e) {
+            throw failure(transformer, phase, e);
+        }
+    }
+
+    private void runPerClass(AbstractTransformer transformer, TransformerPhase phase, List<ClassNode> classNodes, TransformerContext context) throws ObfuscationException {
+        TransformerPhase.ClassAction action = phase.getClassAction();
+        String metric = phaseMetric(transformer, phase);
+        context.getMetrics().count(metric + ".classes", classNodes.size());
+        try (Timer.Sample ignored = context.getMetrics().time(metric)) {
+            workerPool.forEach(classNodes, classNode -> action.apply(classNode, config, context));
+        } catch (RuntimeException e) {
+            throw failure(transformer, phase, e);
+        }
+    }
+
+    private static String phaseMetric(AbstractTransformer transformer, TransformerPhase phase) {
+        return "transformer." + transformer.getName() + "." + phase.getName();
+    }
+
+    private ObfuscationException failure(AbstractTransformer transformer, TransformerPhase phase, RuntimeException e) {
+        return new ObfuscationException("Failed to apply " + transformer.getName() + " (" + phase.getName() + "): " + e.getMessage());
+    }
+}
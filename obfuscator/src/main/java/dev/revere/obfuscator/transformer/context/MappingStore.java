@@ -0,0 +1,87 @@
+package dev.revere.obfuscator.transformer.context;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rename mappings of the renaming transformers, grouped by transformer and owner class. Mappings
+ * of a previous run can be loaded so members keep their obfuscated names across incremental runs,
+ * and every mapping used in this run is recorded so it can be persisted again. Renamed methods can
+ * also be traced back to the name they had in the input jar, which profiles refer to.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public class MappingStore {
+    private final Map<String, Map<String, Map<String, String>>> previous;
+    private final Map<String, Map<String, Map<String, String>>> recorded = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> originalMethodNames = new ConcurrentHashMap<>();
+
+    public MappingStore() {
+        this(new HashMap<>());
+    }
+
+    public MappingStore(Map<String, Map<String, Map<String, String>>> previous) {
+        this.previous = previous;
+    }
+
+    public String getPrevious(String transformer, String owner, String member) {
+        return getPreviousMembers(transformer, owner).get(member);
+    }
+
+    public Map<String, String> getPreviousMembers(String transformer, String owner) {
+        Map<String, Map<String, String>> owners = previous.get(transformer);
+        if (owners == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> members = owners.get(owner);
+        return members == null ? Collections.emptyMap() : Collections.unmodifiableMap(members);
+    }
+
+    /**
+     * Returns every name a transformer handed out in the previous run, so new names can avoid them.
+     */
+    public Set<String> getPreviousNames(String transformer) {
+        Map<String, Map<String, String>> owners = previous.get(transformer);
+        if (owners == null) {
+            return Collections.emptySet();
+        }
+        Set<String> names = new HashSet<>();
+        for (Map<String, String> members : owners.values()) {
+            names.addAll(members.values());
+        }
+        return names;
+    }
+
+    public void record(String transformer, String owner, String member, String newName) {
+        recorded.computeIfAbsent(transformer, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(owner, k -> new ConcurrentHashMap<>())
+                .put(member, newName);
+    }
+
+    public Map<String, Map<String, Map<String, String>>> getRecorded() {
+        return Collections.unmodifiableMap(recorded);
+    }
+
+    /**
+     * Notes that a method of {@code owner} was renamed in place, so later transformers can still find
+     * its input name. Renaming an already renamed method keeps the name from the input jar.
+     */
+    public void traceMethodRename(String owner, String oldName, String newName, String desc) {
+        Map<String, String> methods = originalMethodNames.computeIfAbsent(owner, k -> new ConcurrentHashMap<>());
+        String original = methods.remove(oldName + desc);
+        methods.put(newName + desc, original != null ? original : oldName);
+    }
+
+    /**
+     * Returns the name a method had in the input jar, or {@code name} when it was not renamed.
+     */
+    public String getOriginalMethodName(String owner, String name, String desc) {
+        Map<String, String> methods = originalMethodNames.get(owner);
+        if (methods == null) {
+            return name;
+        }
+        return methods.getOrDefault(name + desc, name);
+    }
+}
@@ -1,13 +1,21 @@
 package dev.revere.obfuscator.transformer.context;
 
 import dev.revere.obfuscator.hierarchy.Hierarchy;
+import dev.revere.obfuscator.hierarchy.LibraryIndex;
 import dev.revere.obfuscator.logging.Logger;
+import dev.revere.obfuscator.metrics.MetricsRegistry;
+import dev.revere.obfuscator.pool.ClassPool;
+import dev.revere.obfuscator.profile.MethodProfile;
+import dev.revere.obfuscator.profile.ProfileReport;
+import dev.revere.obfuscator.transformer.TransformerFilter;
 import lombok.Getter;
+import lombok.Setter;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * @author Remi
@@ -21,21 +29,80 @@ public class TransformerContext {
     private final Map<String, Set<String>> protectedFields;
     private final Map<String, Set<String>> protectedMethods;
 
+    /**
+     * Built when the class pool is first materialized, so it is {@code null} while only streaming
+     * transformers have run.
+     */
     @Getter
-    private final Hierarchy hierarchy;
+    @Setter
+    private Hierarchy hierarchy;
+    /**
+     * Library classes the hierarchy follows supertypes into, or {@code null} to stop at the pool.
+     */
+    @Getter
+    @Setter
+    private LibraryIndex libraryIndex;
+    @Getter
+    private final ClassPool classPool;
+    @Getter
+    @Setter
+    private MappingStore mappingStore;
+    @Getter
+    @Setter
+    private Long seed;
+    @Getter
+    @Setter
+    private TransformerFilter filter;
+    @Getter
+    @Setter
+    private MetricsRegistry metrics;
+    @Getter
+    @Setter
+    private MethodProfile profile;
+    @Getter
+    private final ProfileReport profileReport;
+
+    public TransformerContext(ClassPool classPool) {
+        this.protectedFields = new ConcurrentHashMap<>();
+        this.protectedMethods = new ConcurrentHashMap<>();
+        this.classPool = classPool;
+        this.mappingStore = new MappingStore();
+        this.metrics = new MetricsRegistry();
+        this.profile = MethodProfile.EMPTY;
+        this.profileReport = new ProfileReport();
+    }
+
+    /**
+     * Whether a class was reused from the incremental cache. Frozen classes are visible for analysis
+     * but must not be changed.
+     */
+    public boolean isFrozen(String className) {
+        return classPool.isFrozen(className.replace('.', '/') + ".class");
+    }
 
-    public TransformerContext(Hierarchy hierarchy) {
-        this.protectedFields = new HashMap<>();
-        this.protectedMethods = new HashMap<>();
-        this.hierarchy = hierarchy;
+    /**
+     * Returns the random source for one transformer working on one class. With a seed, the sequence
+     * only depends on the seed, the transformer and the class, never on the order classes are
+     * scheduled in.
+     */
+    public Random getRandom(String transformer, String className) {
+        if (seed == null) {
+            return ThreadLocalRandom.current();
+        }
+        long hash = seed;
+        hash = hash * 31 + transformer.hashCode();
+        hash = hash * 31 + className.hashCode();
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return new Random(hash ^ (hash >>> 33));
     }
 
     public void addProtectedField(String className, String fieldName) {
-        protectedFields.computeIfAbsent(className, k -> new HashSet<>()).add(fieldName);
+        protectedFields.computeIfAbsent(className, k -> ConcurrentHashMap.newKeySet()).add(fieldName);
     }
 
     public void addProtectedMethod(String className, String methodName) {
-        protectedMethods.computeIfAbsent(className, k -> new HashSet<>()).add(methodName);
+        protectedMethods.computeIfAbsent(className, k -> ConcurrentHashMap.newKeySet()).add(methodName);
     }
 
     public boolean isFieldProtected(String className, String fieldName) {
@@ -1,16 +1,20 @@
 package dev.revere.obfuscator.transformer.transformers;
 
 import dev.revere.obfuscator.config.Configuration;
-import dev.revere.obfuscator.exception.ObfuscationException;
 import dev.revere.obfuscator.transformer.AbstractTransformer;
+import dev.revere.obfuscator.transformer.TransformerPhase;
 import dev.revere.obfuscator.transformer.context.TransformerContext;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.FieldNode;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 /**
  * @author Remi
@@ -45,39 +49,82 @@ public class AsciiArtTransformer extends AbstractTransformer {
     };
 
     @Override
-    public Map<String, ClassNode> transform(Map<String, ClassNode> classNodes, Configuration config, TransformerContext context) throws ObfuscationException {
-        try {
-            Map<String, ClassNode> transformedNodes = new HashMap<>(classNodes);
+    public List<TransformerPhase> getPhases() {
+        return Collections.singletonList(TransformerPhase.perClass("fields", this::addAsciiArt)
+                .withVisitor((next, config, context) -> new ClassVisitor(Opcodes.ASM9, next) {
+                    private String className;
+                    private Random random;
+                    private final Set<String> fieldNames = new HashSet<>();
 
-            for (Map.Entry<String, ClassNode> entry : transformedNodes.entrySet()) {
-                String className = entry.getKey().replace('/', '.').replace(".class", "");
-                ClassNode classNode = entry.getValue();
+                    @Override
+                    public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+                        className = name.replace('/', '.');
+                        random = context.getRandom(getName(), className);
+                        super.visit(version, access, name, signature, superName, interfaces);
+                    }
 
-                if (shouldTransform(className, config)) {
-                    for (String asciiArt : ASCII_ART) {
-                        FieldNode fieldNode = new FieldNode(
-                                Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
-                                getRandomString(3),
-                                "Ljava/lang/String;",
-                                null,
-                                asciiArt
-                        );
-                        classNode.fields.add(fieldNode);
-                        context.addProtectedField(className, fieldNode.name);
+                    @Override
+                    public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+                        fieldNames.add(name);
+                        return super.visitField(access, name, descriptor, signature, value);
                     }
-                }
-            }
 
-            return transformedNodes;
-        } catch (Exception e) {
-            throw new ObfuscationException("Error in AsciiArtTransformer: " + e.getMessage());
+                    @Override
+                    public void visitEnd() {
+                        if (shouldTransform(className, context)) {
+                            for (String asciiArt : ASCII_ART) {
+                                String fieldName = getUnusedName(fieldNames, random);
+                                FieldVisitor fv = super.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
+                                        fieldName, "Ljava/lang/String;", null, asciiArt);
+                                if (fv != null) {
+                                    fv.visitEnd();
+                                }
+                                context.addProtectedField(className, fieldName);
+                            }
+                        }
+                        super.visitEnd();
+                    }
+                }));
+    }
+
+    private void addAsciiArt(ClassNode classNode, Configuration config, TransformerContext context) {
+        String className = classNode.name.replace('/', '.');
+        if (!shouldTransform(className, context)) {
+            return;
         }
+
+        Random random = context.getRandom(getName(), className);
+        Set<String> fieldNames = new HashSet<>();
+        for (FieldNode fieldNode : classNode.fields) {
+            fieldNames.add(fieldNode.name);
+        }
+        for (String asciiArt : ASCII_ART) {
+            FieldNode fieldNode = new FieldNode(
+                    Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
+                    getUnusedName(fieldNames, random),
+                    "Ljava/lang/String;",
+                    null,
+                    asciiArt
+            );
+            classNode.fields.add(fieldNode);
+            context.addProtectedField(className, fieldNode.name);
+        }
+    }
+
+    /**
+     * Draws random names until one is not yet a field of the class, and marks it as used.
+     */
+    private String getUnusedName(Set<String> fieldNames, Random random) {
+        String name;
+        do {
+            name = getRandomString(3, random);
+        } while (!fieldNames.add(name));
+        return name;
     }
 
-    private String getRandomString(int len) {
+    private String getRandomString(int len, Random rnd) {
         String SALTCHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
         StringBuilder salt = new StringBuilder();
-        Random rnd = new Random();
         while (salt.length() < len) {
             int index = (int) (rnd.nextFloat() * SALTCHARS.length());
             salt.append(SALTCHARS.charAt(index));
@@ -1,16 +1,21 @@
 package dev.revere.obfuscator.transformer.transformers;
 
 import dev.revere.obfuscator.config.Configuration;
-import dev.revere.obfuscator.exception.ObfuscationException;
+import dev.revere.obfuscator.config.SettingKey;
 import dev.revere.obfuscator.logging.Logger;
+import dev.revere.obfuscator.naming.NameAllocator;
+import dev.revere.obfuscator.naming.NameDictionary;
+import dev.revere.obfuscator.naming.NameScope;
+import dev.revere.obfuscator.pool.ClassPool;
 import dev.revere.obfuscator.transformer.AbstractTransformer;
+import dev.revere.obfuscator.transformer.TransformerPhase;
+import dev.revere.obfuscator.transformer.context.MappingStore;
 import dev.revere.obfuscator.transformer.context.TransformerContext;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.*;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Remi
@@ -19,85 +24,105 @@ import java.util.*;
  */
 public class FieldTransformer extends AbstractTransformer {
     private static final Logger LOGGER = Logger.getLogger(FieldTransformer.class.getName());
-    private final Random random = new Random();
+    private Map<String, Map<String, String>> fieldMappings = new ConcurrentHashMap<>();
+    private NameAllocator nameAllocator;
 
     public FieldTransformer() {
         super("FieldTransformer");
     }
 
     @Override
-    public Map<String, ClassNode> transform(Map<String, ClassNode> classNodes, Configuration config, TransformerContext context) throws ObfuscationException {
-        try {
-            Map<String, ClassNode> transformedNodes = new HashMap<>(classNodes);
-            Map<String, Map<String, String>> fieldMappings = new HashMap<>();
-
-            // First pass: Rename fields and collect mappings
-            for (Map.Entry<String, ClassNode> entry : transformedNodes.entrySet()) {
-                String className = entry.getKey().replace('/', '.').replace(".class", "");
-                ClassNode classNode = entry.getValue();
+    public List<SettingKey<?>> getSettingKeys() {
+        return Collections.singletonList(NameDictionary.SETTING);
+    }
 
-                if (shouldTransform(className, config)) {
-                    Map<String, String> classMappings = new HashMap<>();
-                    for (FieldNode fieldNode : classNode.fields) {
-                        if (context.isFieldProtected(className, fieldNode.name)) {
-                            continue;
-                        }
+    @Override
+    public List<TransformerPhase> getPhases() {
+        return Arrays.asList(
+                TransformerPhase.global("reset", this::reset),
+                TransformerPhase.perClass("rename", this::renameFields),
+                TransformerPhase.perClass("references", this::updateFieldReferences)
+        );
+    }
 
-                        if ((fieldNode.access & Opcodes.ACC_SYNTHETIC) != 0 || (fieldNode.access & Opcodes.ACC_ENUM) != 0) {
-                            continue;
-                        }
+    private void reset(ClassPool classPool, Configuration config, TransformerContext context) {
+        fieldMappings = new ConcurrentHashMap<>();
 
-                        String newName = generateSecureFieldName(fieldNode.name);
-                        classMappings.put(fieldNode.name + fieldNode.desc, newName);
-                        fieldNode.name = newName;
-                    }
-                    if (!classMappings.isEmpty()) {
-                        fieldMappings.put(className, classMappings);
-                    }
-                }
+        // Names kept by untouched fields, names handed out last run and names that would hide a
+        // library field must never be generated
+        MappingStore mappingStore = context.getMappingStore();
+        Set<String> reservedNames = new HashSet<>(mappingStore.getPreviousNames(getName()));
+        reservedNames.addAll(context.getHierarchy().getLibraryFieldNames());
+        for (ClassNode classNode : classPool.getClassNodes()) {
+            for (FieldNode fieldNode : classNode.fields) {
+                reservedNames.add(fieldNode.name);
             }
+        }
+        NameDictionary dictionary = config.getSettings(getName()).get(NameDictionary.SETTING).shuffle(context.getRandom(getName(), "dictionary"));
+        nameAllocator = NameAllocator.create(classPool.getClassNodes(), classNode -> classNode.fields.size(), dictionary, reservedNames);
 
-            // Second pass: Update field references in all classes
-            for (ClassNode classNode : transformedNodes.values()) {
-                for (MethodNode methodNode : classNode.methods) {
-                    for (AbstractInsnNode insnNode : methodNode.instructions) {
-                        if (insnNode instanceof FieldInsnNode) {
-                            FieldInsnNode fieldInsnNode = (FieldInsnNode) insnNode;
-                            String ownerClassName = fieldInsnNode.owner.replace('/', '.');
-                            Map<String, String> classMappings = fieldMappings.get(ownerClassName);
-                            if (classMappings != null) {
-                                String key = fieldInsnNode.name + fieldInsnNode.desc;
-                                String newName = classMappings.get(key);
-                                if (newName != null) {
-                                    fieldInsnNode.name = newName;
-                                }
-                            }
-                        }
-                    }
-                }
+        // Classes reused from the incremental cache keep the names they were given last run
+        for (ClassNode classNode : classPool.getClassNodes()) {
+            String className = classNode.name.replace('/', '.');
+            Map<String, String> previous = mappingStore.getPreviousMembers(getName(), className);
+            if (context.isFrozen(className) && !previous.isEmpty()) {
+                fieldMappings.put(className, new HashMap<>(previous));
+                previous.forEach((member, newName) -> mappingStore.record(getName(), className, member, newName));
             }
-
-            return transformedNodes;
-        } catch (Exception e) {
-            throw new ObfuscationException("Failed to transform fields: " + e.getMessage());
         }
     }
 
-    private String generateSecureFieldName(String originalName) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = md.digest((originalName + System.nanoTime() + random.nextInt()).getBytes());
+    private void renameFields(ClassNode classNode, Configuration config, TransformerContext context) {
+        String className = classNode.name.replace('/', '.');
+        if (!shouldTransform(className, context)) {
+            return;
+        }
+
+        NameScope nameScope = nameAllocator.scope(classNode.name);
+        Map<String, String> classMappings = new HashMap<>();
+        for (FieldNode fieldNode : classNode.fields) {
+            if (context.isFieldProtected(className, fieldNode.name)) {
+                continue;
+            }
 
-            StringBuilder newName = new StringBuilder("_");
-            for (byte b : hashBytes) {
-                newName.append(String.format("%02x", b));
+            if ((fieldNode.access & Opcodes.ACC_SYNTHETIC) != 0 || (fieldNode.access & Opcodes.ACC_ENUM) != 0) {
+                continue;
             }
 
-            newName.setCharAt(0, ( char) ('a' + random.nextInt(26)));
+            String member = fieldNode.name + fieldNode.desc;
+            String newName = context.getMappingStore().getPrevious(getName(), className, member);
+            if (newName == null) {
+                newName = nameScope.next();
+            }
+            classMappings.put(member, newName);
+            context.getMappingStore().record(getName(), className, member, newName);
+            fieldNode.name = newName;
+        }
+        if (!classMappings.isEmpty()) {
+            fieldMappings.put(className, classMappings);
+            count(context, "fields-renamed", classMappings.size());
+        }
+    }
 
-            return newName.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
+    private void updateFieldReferences(ClassNode classNode, Configuration config, TransformerContext context) {
+        int rewritten = 0;
+        for (MethodNode methodNode : classNode.methods) {
+            for (AbstractInsnNode insnNode : methodNode.instructions) {
+                if (insnNode instanceof FieldInsnNode) {
+                    FieldInsnNode fieldInsnNode = (FieldInsnNode) insnNode;
+                    String ownerClassName = fieldInsnNode.owner.replace('/', '.');
+                    Map<String, String> classMappings = fieldMappings.get(ownerClassName);
+                    if (classMappings != null) {
+                        String key = fieldInsnNode.name + fieldInsnNode.desc;
+                        String newName = classMappings.get(key);
+                        if (newName != null) {
+                            fieldInsnNode.name = newName;
+                            rewritten++;
+                        }
+                    }
+                }
+            }
         }
+        count(context, "instructions-rewritten", rewritten);
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,21 @@
 package dev.revere.obfuscator.transformer.transformers;
 
 import dev.revere.obfuscator.config.Configuration;
-import dev.revere.obfuscator.exception.ObfuscationException;
+import dev.revere.obfuscator.config.SettingKey;
+import dev.revere.obfuscator.config.TransformerSettings;
 import dev.revere.obfuscator.hierarchy.Hierarchy;
-import dev.revere.obfuscator.logging.Logger;
+import dev.revere.obfuscator.naming.NameAllocator;
+import dev.revere.obfuscator.naming.NameDictionary;
+import dev.revere.obfuscator.naming.NameScope;
+import dev.revere.obfuscator.pool.ClassPool;
 import dev.revere.obfuscator.transformer.AbstractTransformer;
+import dev.revere.obfuscator.transformer.TransformerPhase;
+import dev.revere.obfuscator.transformer.context.MappingStore;
 import dev.revere.obfuscator.transformer.context.TransformerContext;
+import dev.revere.obfuscator.util.GlobMatcher;
 import org.objectweb.asm.Handle;
 import org.objectweb.asm.tree.*;
 
-import java.security.MessageDigest;
 import java.util.*;
 
 /**
@@ -18,169 +24,139 @@ import java.util.*;
  * @date 10/18/2024
  */
 public class MethodTransformer extends AbstractTransformer {
-    private static final Logger LOGGER = Logger.getLogger(MethodTransformer.class.getName());
-    private final Random random;
-    private Map<String, String> globalMethodMappings;
+    private static final SettingKey<GlobMatcher> METHOD_EXCLUSIONS = SettingKey.patterns("method-exclusions");
+    // New names by hierarchy method ID, so call sites resolve to a name without building keys
+    private String[] newMethodNames;
+    private NameAllocator nameAllocator;
+    private GlobMatcher methodExclusions;
 
     public MethodTransformer() {
         super("MethodTransformer");
-        this.random = new Random();
     }
 
     @Override
-    public Map<String, ClassNode> transform(Map<String, ClassNode> classNodes, Configuration config, TransformerContext context) throws ObfuscationException {
-        try {
-            Map<String, ClassNode> transformedNodes = new HashMap<>(classNodes);
-            globalMethodMappings = new HashMap<>();
-            Hierarchy hierarchy = context.getHierarchy();
-
-            for (Map.Entry<String, ClassNode> entry : transformedNodes.entrySet()) {
-                String className = entry.getKey().replace('/', '.').replace(".class", "");
-                ClassNode classNode = entry.getValue();
-                renameMethodsInClass(classNode, className, config, hierarchy);
-            }
-
-            debugHierarchy(hierarchy, "me.emmy.alley.api.menu.Menu");
-            debugHierarchy(hierarchy, "me.emmy.alley.api.menu.impl.PartyEventMenu");
-
-            for (Map.Entry<String, ClassNode> entry : transformedNodes.entrySet()) {
-                String className = entry.getKey().replace('/', '.').replace(".class", "");
-                ClassNode classNode = entry.getValue();
-                handleOverriddenMethods(classNode, className, hierarchy);
-            }
-
-            // Second pass: Update method references
-            for (ClassNode classNode : transformedNodes.values()) {
-                String className = classNode.name.replace('/', '.');
-                for (MethodNode methodNode : classNode.methods) {
-                    updateMethodReferences(methodNode, className, hierarchy);
-                }
-            }
-
-            return transformedNodes;
-        } catch (Exception e) {
-            throw new ObfuscationException("Failed to transform methods: " + e.getMessage());
-        }
+    public List<SettingKey<?>> getSettingKeys() {
+        return Arrays.asList(METHOD_EXCLUSIONS, NameDictionary.SETTING);
     }
 
-    private void renameMethodsInClass(ClassNode classNode, String className, Configuration config, Hierarchy hierarchy) {
-        boolean isTargetClass = className.endsWith("PartyEventMenu") || className.endsWith("Menu");
+    @Override
+    public List<TransformerPhase> getPhases() {
+        return Arrays.asList(
+                TransformerPhase.global("analyze", this::analyze),
+                TransformerPhase.perClass("rename", (classNode, config, context) ->
+                        renameMethodsInClass(classNode, classNode.name.replace('/', '.'), config, context)),
+                TransformerPhase.global("overrides", (classPool, config, context) -> {
+                    for (ClassNode classNode : classPool.getTransformableClassNodes()) {
+                        handleOverriddenMethods(classNode, classNode.name.replace('/', '.'), context);
+                    }
+                }),
+                // Second pass: Update method references
+                TransformerPhase.perClass("references", (classNode, config, context) -> {
+                    String className = classNode.name.replace('/', '.');
+                    int rewritten = 0;
+                    for (MethodNode methodNode : classNode.methods) {
+                        rewritten += updateMethodReferences(methodNode, context.getHierarchy());
+                    }
+                    count(context, "instructions-rewritten", rewritten);
+                })
+        );
+    }
 
-        if (isTargetClass) {
-            LOGGER.debug("Processing target class: " + className);
-            LOGGER.debug("Superclass: " + hierarchy.getSuperclass(className));
-            LOGGER.debug("Subclasses: " + hierarchy.getSubclasses(className));
+    private void analyze(ClassPool classPool, Configuration config, TransformerContext context) {
+        TransformerSettings settings = config.getSettings(getName());
+        methodExclusions = settings.get(METHOD_EXCLUSIONS);
+        Hierarchy hierarchy = context.getHierarchy();
+        newMethodNames = new String[hierarchy.getMethodCount()];
+
+        // Names kept by excluded methods, names handed out last run and names that would override a
+        // library method must never be generated
+        MappingStore mappingStore = context.getMappingStore();
+        Set<String> reservedNames = new HashSet<>(mappingStore.getPreviousNames(getName()));
+        reservedNames.addAll(hierarchy.getLibraryMethodNames());
+        for (ClassNode classNode : classPool.getClassNodes()) {
+            for (MethodNode methodNode : classNode.methods) {
+                reservedNames.add(methodNode.name);
+            }
         }
-
-        // Rename methods in the current class
-        for (MethodNode methodNode : classNode.methods) {
-            if (!isExcludedMethod(methodNode, config)) {
-                String methodSignature = className + "." + methodNode.name + methodNode.desc;
-                if (!globalMethodMappings.containsKey(methodSignature)) {
-                    String newName = generateSecureMethodName(methodNode.name);
-                    globalMethodMappings.put(methodSignature, newName);
-                    String oldName = methodNode.name;
-                    methodNode.name = newName;
-                    if (isTargetClass) {
-                        LOGGER.debug("Renamed method in " + className + ": " + oldName + " -> " + newName);
+        NameDictionary dictionary = settings.get(NameDictionary.SETTING).shuffle(context.getRandom(getName(), "dictionary"));
+        nameAllocator = NameAllocator.create(classPool.getClassNodes(), classNode -> classNode.methods.size(), dictionary, reservedNames);
+
+        // Classes reused from the incremental cache keep the names they were given last run
+        for (ClassNode classNode : classPool.getClassNodes()) {
+            String className = classNode.name.replace('/', '.');
+            if (context.isFrozen(className)) {
+                int classId = hierarchy.getId(classNode.name);
+                for (Map.Entry<String, String> mapping : mappingStore.getPreviousMembers(getName(), className).entrySet()) {
+                    String member = mapping.getKey();
+                    int descriptor = member.indexOf('(');
+                    int methodId = hierarchy.getDeclaredMethodId(classId,
+                            hierarchy.getSignatureId(member.substring(0, descriptor), member.substring(descriptor)));
+                    if (methodId >= 0) {
+                        newMethodNames[methodId] = mapping.getValue();
                     }
-                } else if (isTargetClass) {
-                    LOGGER.debug("Method already renamed: " + methodSignature + " -> " + globalMethodMappings.get(methodSignature));
+                    mappingStore.record(getName(), className, member, mapping.getValue());
                 }
-            } else if (isTargetClass) {
-                LOGGER.debug("Excluded method: " + className + "." + methodNode.name);
             }
         }
     }
 
-    private void propagateRenamesToSubclasses(ClassNode classNode, String className, Hierarchy hierarchy) {
-        Set<String> subclasses = hierarchy.getSubclasses(className);
-        boolean isTargetClass = className.endsWith("PartyEventMenu") || className.endsWith("Menu");
-
-        if (isTargetClass) {
-            LOGGER.debug("Propagating renames to subclasses of " + className + ": " + subclasses);
-        }
+    private void renameMethodsInClass(ClassNode classNode, String className, Configuration config, TransformerContext context) {
+        Hierarchy hierarchy = context.getHierarchy();
 
-        for (String subclass : subclasses) {
-            ClassNode subclassNode = hierarchy.getClass(subclass);
-            if (subclassNode != null) {
-                boolean isTargetSubclass = subclass.endsWith("PartyEventMenu") || subclass.endsWith("Menu");
-                if (isTargetSubclass) {
-                    LOGGER.debug("Processing target subclass: " + subclass);
+        // Rename methods in the current class
+        NameScope nameScope = nameAllocator.scope(classNode.name);
+        int classId = hierarchy.getId(classNode.name);
+        int renamed = 0;
+        for (MethodNode methodNode : classNode.methods) {
+            if (!isExcludedMethod(methodNode)) {
+                int methodId = hierarchy.getDeclaredMethodId(classId, hierarchy.getSignatureId(methodNode.name, methodNode.desc));
+                if (methodId < 0) {
+                    continue;
                 }
-                for (MethodNode subMethodNode : subclassNode.methods) {
-                    String superMethodSignature = findSuperMethodSignature(className, subMethodNode.name, subMethodNode.desc, hierarchy);
-                    if (superMethodSignature != null) {
-                        String newName = globalMethodMappings.get(superMethodSignature);
-                        if (newName != null && !subMethodNode.name.equals(newName)) {
-                            String oldName = subMethodNode.name;
-                            subMethodNode.name = newName;
-                            if (isTargetSubclass) {
-                                LOGGER.debug("Renamed method in subclass " + subclass + ": " + oldName + " -> " + newName);
-                            }
-                            // Update the mapping for the subclass method
-                            String subMethodSignature = subclass + "." + oldName + subMethodNode.desc;
-                            globalMethodMappings.put(subMethodSignature, newName);
-                        }
+                String member = methodNode.name + methodNode.desc;
+                if (newMethodNames[methodId] == null) {
+                    String newName = context.getMappingStore().getPrevious(getName(), className, member);
+                    if (newName == null) {
+                        newName = nameScope.next();
                     }
+                    newMethodNames[methodId] = newName;
+                    context.getMappingStore().record(getName(), className, member, newName);
+                    String oldName = methodNode.name;
+                    methodNode.name = newName;
+                    context.getMappingStore().traceMethodRename(classNode.name, oldName, newName, methodNode.desc);
+                    renamed++;
                 }
             }
         }
+        count(context, "methods-renamed", renamed);
     }
 
-    private String findSuperMethodSignature(String className, String methodName, String methodDesc, Hierarchy hierarchy) {
-        List<String> classHierarchy = hierarchy.getHierarchy(className);
-        for (String superClass : classHierarchy) {
-            if (!superClass.equals(className)) {
-                String methodSignature = superClass + "." + methodName + methodDesc;
-                if (globalMethodMappings.containsKey(methodSignature)) {
-                    return methodSignature;
-                }
-            }
-        }
-        return null;
-    }
-
-    private void updateMethodReferences(MethodNode methodNode, String currentClassName, Hierarchy hierarchy) {
-        boolean isTargetClass = currentClassName.endsWith("PartyEventMenu") || currentClassName.endsWith("Menu");
-
+    private int updateMethodReferences(MethodNode methodNode, Hierarchy hierarchy) {
+        int rewritten = 0;
         for (AbstractInsnNode insnNode : methodNode.instructions) {
             if (insnNode instanceof MethodInsnNode) {
                 MethodInsnNode methodInsnNode = (MethodInsnNode) insnNode;
-                String ownerClassName = methodInsnNode.owner.replace('/', '.');
-                String newName = findNewMethodNameInHierarchy(ownerClassName, methodInsnNode.name, methodInsnNode.desc, hierarchy);
+                String newName = findNewMethodNameInHierarchy(methodInsnNode.owner, methodInsnNode.name, methodInsnNode.desc, hierarchy);
                 if (newName != null) {
-                    String oldName = methodInsnNode.name;
                     methodInsnNode.name = newName;
-                    if (isTargetClass) {
-                    LOGGER.debug("Updated method reference in " + currentClassName + "." + methodNode.name +
-                            ": " + methodInsnNode.owner + "." + oldName + " -> " + newName);
-                    }
+                    rewritten++;
                 }
             }
         }
+        return rewritten;
     }
 
-    private String findNewMethodNameInHierarchy(String ownerClassName, String methodName, String methodDesc, Hierarchy hierarchy) {
-        List<String> classHierarchy = hierarchy.getHierarchy(ownerClassName);
-        for (String className : classHierarchy) {
-            String methodSignature = className + "." + methodName + methodDesc;
-            String newName = globalMethodMappings.get(methodSignature);
-            if (newName != null) {
-                return newName;
-            }
+    private String findNewMethodNameInHierarchy(String owner, String methodName, String methodDesc, Hierarchy hierarchy) {
+        int ownerId = hierarchy.getId(owner);
+        if (ownerId < 0) {
+            return null;
         }
-        return null;
+        int methodId = hierarchy.resolveMethod(ownerId, hierarchy.getSignatureId(methodName, methodDesc));
+        return methodId < 0 ? null : newMethodNames[methodId];
     }
 
-    private void debugHierarchy(Hierarchy hierarchy, String className) {
-        LOGGER.debug("Hierarchy for " + className);
-        LOGGER.debug("Full Hierarchy " + hierarchy.getHierarchy(className).toString());
-        LOGGER.debug("Superclass " + hierarchy.getSuperclass(className));
-        LOGGER.debug("Subclasses " + hierarchy.getSubclasses(className).toString());
-    }
-
-    private void handleOverriddenMethods(ClassNode classNode, String className, Hierarchy hierarchy) {
+    private void handleOverriddenMethods(ClassNode classNode, String className, TransformerContext context) {
+        Hierarchy hierarchy = context.getHierarchy();
         String superClassName = hierarchy.getSuperclass(className);
         if (superClassName != null) {
             ClassNode superClassNode = hierarchy.getClass(superClassName);
@@ -188,9 +164,11 @@ public class MethodTransformer extends AbstractTransformer {
                 for (MethodNode methodNode : classNode.methods) {
                     MethodNode superMethod = findMatchingMethod(superClassNode, methodNode);
                     if (superMethod != null) {
-                        String superMethodSignature = superClassName + "." + superMethod.name + superMethod.desc;
-                        String newName = globalMethodMappings.get(superMethodSignature);
+                        int superMethodId = hierarchy.getDeclaredMethodId(hierarchy.getId(superClassNode.name),
+                                hierarchy.getSignatureId(superMethod.name, superMethod.desc));
+                        String newName = superMethodId < 0 ? null : newMethodNames[superMethodId];
                         if (newName != null) {
+                            context.getMappingStore().traceMethodRename(classNode.name, methodNode.name, newName, methodNode.desc);
                             methodNode.name = newName;
                             preserveOverrideAnnotation(methodNode);
                         }
@@ -222,34 +200,7 @@ public class MethodTransformer extends AbstractTransformer {
         }
     }
 
-    private boolean isExcludedMethod(MethodNode methodNode, Configuration config) {
-        Set<String> exclusions = new HashSet<>();
-
-        Object customSetting = config.getCustomSetting("MethodTransformer", "method-exclusions");
-        if (customSetting instanceof String) {
-            for (String exclusion : ((String) customSetting).split(",")) {
-                exclusions.add(exclusion.trim());
-            }
-        }
-
-        return exclusions.contains(methodNode.name);
-    }
-
-    private String generateSecureMethodName(String originalName) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest((originalName + System.currentTimeMillis()).getBytes());
-
-            StringBuilder newName = new StringBuilder();
-            for (byte b : hashBytes) {
-                newName.append(String.format("%02x", b));
-            }
-
-            newName.setCharAt(0, (char) ('a' + random.nextInt(26)));
-
-            return newName.toString();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to generate secure method name");
-        }
+    private boolean isExcludedMethod(MethodNode methodNode) {
+        return methodExclusions.matches(methodNode.name);
     }
 }
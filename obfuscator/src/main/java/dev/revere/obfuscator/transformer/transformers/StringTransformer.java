@@ -1,19 +1,38 @@
 package dev.revere.obfuscator.transformer.transformers;
 
-import dev.revere.obfuscator.config.Configuration;
-import dev.revere.obfuscator.exception.ObfuscationException;
+import dev.revere.obfuscator.config.SettingKey;
+import dev.revere.obfuscator.pool.ClassPool;
+import dev.revere.obfuscator.profile.MethodProfile;
 import dev.revere.obfuscator.transformer.AbstractTransformer;
+import dev.revere.obfuscator.transformer.TransformerPhase;
 import dev.revere.obfuscator.transformer.context.TransformerContext;
 import org.objectweb.asm.*;
 import org.objectweb.asm.tree.*;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Base64;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Random;
 
 /**
+ * Replaces string literals with an encrypted constant and a call that decrypts it.
+ * <p>
+ * In the {@code indy} mode each literal becomes an {@code invokedynamic} whose bootstrap decrypts
+ * the string once and binds the call site to a constant handle, so after linkage the site costs no
+ * more than the original {@code ldc}. Classes older than Java 7 cannot hold {@code invokedynamic}
+ * and keep the {@code call} mode, which decrypts on every execution.
+ * <p>
+ * In the {@code table} mode the distinct literals of a class are packed into a few encrypted
+ * chunks stored once in that class, and each literal becomes an index into a {@code String[]} the
+ * class decodes the first time any of them is used. Interfaces cannot hold the table's mutable
+ * field and use the {@code indy} mode instead.
+ * <p>
+ * Methods the run's profile shows as hot keep their plain literals in every mode.
+ *
  * @author Remi
  * @project revere-java-obfuscator
  * @date 10/18/2024
@@ -22,42 +41,112 @@ public class StringTransformer extends AbstractTransformer {
     private static final String DECRYPT_METHOD_NAME = "IIIIIiiiIIIIiIIIiIIIiiiiiiiIiIIIIIIIIIIIIIIIIiiiIIIIiIIIiIIIiiiiiiiIiIIIIIIIIIIIIIIIIiiiIIIIiIIIiIIIiiiiiiiIiIIIIIIIIIIIIIIIIiiiIIIIiIIIiIIIiiiiiiiIiIIIIIIIIIII";
     private static final String DECRYPT_METHOD_DESC = "(Ljava/lang/String;I)Ljava/lang/String;";
     private static final String DECRYPT_HELPER_CLASS = "org/bson/IIIIIiiiIIIIiIIIiIIIiiiiiiiIiIIIIIIIIIII";
-    private final Random random = new Random();
-    private final int[] keys;
+    private static final String BOOTSTRAP_METHOD_NAME = "IIIIIiiiIIIIiIIIiIIIiiiiiiiIiIIIIIIIIIIIIIIIIiiiIIIIiIIIiIIIiiiiiiiIiIIIIIIIIIIIIIIIIiiiIIIIiIIIiIIIiiiiiiiIiIIIIIIIIIIIIIIIIiiiIIIIiIIIiIIIiiiiiiiIiIIIIIIIIIIIi";
+    private static final String BOOTSTRAP_METHOD_DESC = "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;Ljava/lang/String;I)Ljava/lang/invoke/CallSite;";
+    private static final Handle BOOTSTRAP_HANDLE = new Handle(Opcodes.H_INVOKESTATIC, DECRYPT_HELPER_CLASS, BOOTSTRAP_METHOD_NAME, BOOTSTRAP_METHOD_DESC, false);
+    private static final String INDY_NAME = "IIIIIiiiIIIIiIIIiIII";
+    private static final String INDY_DESC = "()Ljava/lang/String;";
+    private static final String UNPACK_METHOD_NAME = "IIIIIiiiIIIIiIIIiIIIiiiiiiiIiIIIIIIIIIIIIIIIIiiiIIIIiIIIiIIIiiiiiiiIiIIIIIIIIIIIIIIIIiiiIIIIiIIIiIIIiiiiiiiIiIIIIIIIIIIIIIIIIiiiIIIIiIIIiIIIiiiiiiiIiIIIIIIIIIIIiI";
+    private static final String UNPACK_METHOD_DESC = "([Ljava/lang/String;ILjava/lang/String;I)I";
+    private static final String TABLE_FIELD_NAME = "IIIIIiiiIIIIiIIIiIIIi";
+    private static final String TABLE_DESC = "[Ljava/lang/String;";
+    private static final String TABLE_LOOKUP_NAME = "IIIIIiiiIIIIiIIIiIIIii";
+    private static final String TABLE_LOOKUP_DESC = "(I)Ljava/lang/String;";
+    private static final String TABLE_INIT_NAME = "IIIIIiiiIIIIiIIIiIIIiI";
+    private static final String TABLE_INIT_DESC = "()[Ljava/lang/String;";
+    private static final int MAX_ENTRY_BYTES = 16384;
+    private static final int MAX_CHUNK_BYTES = 32768;
+    private static final SettingKey<Mode> MODE = SettingKey.of("mode", Mode.CALL, Mode::forName);
     private boolean decryptorAdded = false;
 
     public StringTransformer() {
         super("StringTransformer");
-        this.keys = new int[16];
-        for (int i = 0; i < keys.length; i++) {
-            keys[i] = random.nextInt();
-        }
     }
 
-
     @Override
-    public Map<String, ClassNode> transform(Map<String, ClassNode> classNodes, Configuration config, TransformerContext context) throws ObfuscationException {
-        Map<String, ClassNode> transformedNodes = new HashMap<>(classNodes);
-        if (!decryptorAdded) {
-            addStringDecryptorClass(transformedNodes);
-            decryptorAdded = true;
-        }
+    public List<SettingKey<?>> getSettingKeys() {
+        return Arrays.asList(MODE, MethodProfile.HOT_THRESHOLD);
+    }
 
-        for (Map.Entry<String, ClassNode> entry : transformedNodes.entrySet()) {
-            String className = entry.getKey().replace('/', '.').replace(".class", "");
-            ClassNode classNode = entry.getValue();
+    @Override
+    public List<TransformerPhase> getPhases() {
+        return Arrays.asList(
+                TransformerPhase.perClass("encrypt", (classNode, config, context) -> {
+                    String className = classNode.name.replace('/', '.');
+                    if (shouldTransform(className, context)) {
+                        Random random = context.getRandom(getName(), className);
+                        Mode mode = modeFor(classNode.version, classNode.access, config.getSettings(getName()).get(MODE));
+                        StringTable table = mode == Mode.TABLE ? new StringTable(classNode.name) : null;
+                        int encrypted = 0;
+                        int spared = 0;
+                        for (MethodNode methodNode : classNode.methods) {
+                            if (isHot(classNode.name, methodNode.name, methodNode.desc, config, context)) {
+                                spared++;
+                            } else {
+                                encrypted += transformMethod(methodNode, random, mode, table);
+                            }
+                        }
+                        count(context, "strings-encrypted", encrypted);
+                        count(context, "methods-spared", spared);
+                        if (table != null && !table.isEmpty()) {
+                            table.emit(classNode, classNode.version, random);
+                            count(context, "strings-packed", table.size());
+                        }
+                    }
+                }).withVisitor((next, config, context) -> new ClassVisitor(Opcodes.ASM9, next) {
+                    private boolean enabled;
+                    private String owner;
+                    private Random random;
+                    private Mode mode;
+                    private int version;
+                    private StringTable table;
+
+                    @Override
+                    public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+                        String className = name.replace('/', '.');
+                        enabled = shouldTransform(className, context);
+                        owner = name;
+                        random = context.getRandom(getName(), className);
+                        mode = modeFor(version, access, config.getSettings(getName()).get(MODE));
+                        this.version = version;
+                        table = mode == Mode.TABLE ? new StringTable(name) : null;
+                        super.visit(version, access, name, signature, superName, interfaces);
+                    }
 
-            if (shouldTransform(className, config)) {
-                for (MethodNode methodNode : classNode.methods) {
-                    transformMethod(methodNode);
-                }
-            }
-        }
+                    @Override
+                    public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                        MethodVisitor mv = super.visitMethod(access, name, descriptor, signature, exceptions);
+                        if (!enabled) {
+                            return mv;
+                        }
+                        if (isHot(owner, name, descriptor, config, context)) {
+                            count(context, "methods-spared", 1);
+                            return mv;
+                        }
+                        return new EncryptingMethodVisitor(mv, random, mode, table, context);
+                    }
 
-        return transformedNodes;
+                    @Override
+                    public void visitEnd() {
+                        // Written to the next visitor directly, so the table's own chunks stay as they are
+                        if (enabled && table != null && !table.isEmpty()) {
+                            table.emit(cv, version, random);
+                            count(context, "strings-packed", table.size());
+                        }
+                        super.visitEnd();
+                    }
+                }),
+                // The decryptor is added last so its own constants are never routed through itself
+                TransformerPhase.global("decryptor", (classPool, config, context) -> {
+                    if (!decryptorAdded) {
+                        addStringDecryptorClass(classPool);
+                        decryptorAdded = true;
+                    }
+                })
+        );
     }
 
-    private void addStringDecryptorClass(Map<String, ClassNode> classNodes) {
+    private void addStringDecryptorClass(ClassPool classPool) {
         ClassNode decryptorNode = new ClassNode();
         decryptorNode.version = Opcodes.V1_8;
         decryptorNode.access = Opcodes.ACC_PUBLIC;
@@ -334,32 +423,304 @@ public class StringTransformer extends AbstractTransformer {
 
         decryptor.visitMaxs(6, 11);
         decryptor.visitEnd();
+
+        // Add bootstrap method, which binds an invokedynamic site to its decrypted string
+        MethodVisitor bootstrap = decryptorNode.visitMethod(
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC,
+                BOOTSTRAP_METHOD_NAME,
+                BOOTSTRAP_METHOD_DESC,
+                null,
+                null
+        );
+        bootstrap.visitCode();
+        bootstrap.visitTypeInsn(Opcodes.NEW, "java/lang/invoke/ConstantCallSite");
+        bootstrap.visitInsn(Opcodes.DUP);
+        bootstrap.visitLdcInsn(Type.getType(String.class));
+        bootstrap.visitVarInsn(Opcodes.ALOAD, 3);
+        bootstrap.visitVarInsn(Opcodes.ILOAD, 4);
+        bootstrap.visitMethodInsn(Opcodes.INVOKESTATIC, DECRYPT_HELPER_CLASS, DECRYPT_METHOD_NAME, DECRYPT_METHOD_DESC, false);
+        bootstrap.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/invoke/MethodHandles", "constant",
+                "(Ljava/lang/Class;Ljava/lang/Object;)Ljava/lang/invoke/MethodHandle;", false);
+        bootstrap.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/invoke/ConstantCallSite", "<init>",
+                "(Ljava/lang/invoke/MethodHandle;)V", false);
+        bootstrap.visitInsn(Opcodes.ARETURN);
+        bootstrap.visitMaxs(5, 5);
+        bootstrap.visitEnd();
+
+        // Add unpack method, which decodes one chunk of a class's string table into the table
+        MethodVisitor unpack = decryptorNode.visitMethod(
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC,
+                UNPACK_METHOD_NAME,
+                UNPACK_METHOD_DESC,
+                null,
+                null
+        );
+        unpack.visitCode();
+        unpack.visitVarInsn(Opcodes.ALOAD, 2);
+        unpack.visitVarInsn(Opcodes.ILOAD, 3);
+        unpack.visitMethodInsn(Opcodes.INVOKESTATIC, DECRYPT_HELPER_CLASS, DECRYPT_METHOD_NAME, DECRYPT_METHOD_DESC, false);
+        unpack.visitVarInsn(Opcodes.ASTORE, 4); // String chunk
+        unpack.visitInsn(Opcodes.ICONST_0);
+        unpack.visitVarInsn(Opcodes.ISTORE, 5); // int position
+
+        Label unpackLoop = new Label();
+        Label unpackEnd = new Label();
+        unpack.visitLabel(unpackLoop);
+        unpack.visitVarInsn(Opcodes.ILOAD, 5);
+        unpack.visitVarInsn(Opcodes.ALOAD, 4);
+        unpack.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "length", "()I", false);
+        unpack.visitJumpInsn(Opcodes.IF_ICMPGE, unpackEnd);
+
+        // int length = chunk.charAt(position++);
+        unpack.visitVarInsn(Opcodes.ALOAD, 4);
+        unpack.visitVarInsn(Opcodes.ILOAD, 5);
+        unpack.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "charAt", "(I)C", false);
+        unpack.visitVarInsn(Opcodes.ISTORE, 6);
+        unpack.visitIincInsn(5, 1);
+
+        // table[index++] = chunk.substring(position, position + length);
+        unpack.visitVarInsn(Opcodes.ALOAD, 0);
+        unpack.visitVarInsn(Opcodes.ILOAD, 1);
+        unpack.visitVarInsn(Opcodes.ALOAD, 4);
+        unpack.visitVarInsn(Opcodes.ILOAD, 5);
+        unpack.visitVarInsn(Opcodes.ILOAD, 5);
+        unpack.visitVarInsn(Opcodes.ILOAD, 6);
+        unpack.visitInsn(Opcodes.IADD);
+        unpack.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "substring", "(II)Ljava/lang/String;", false);
+        unpack.visitInsn(Opcodes.AASTORE);
+        unpack.visitIincInsn(1, 1);
+
+        // position += length;
+        unpack.visitVarInsn(Opcodes.ILOAD, 5);
+        unpack.visitVarInsn(Opcodes.ILOAD, 6);
+        unpack.visitInsn(Opcodes.IADD);
+        unpack.visitVarInsn(Opcodes.ISTORE, 5);
+        unpack.visitJumpInsn(Opcodes.GOTO, unpackLoop);
+
+        unpack.visitLabel(unpackEnd);
+        unpack.visitVarInsn(Opcodes.ILOAD, 1);
+        unpack.visitInsn(Opcodes.IRETURN);
+        unpack.visitMaxs(6, 7);
+        unpack.visitEnd();
         decryptorNode.visitEnd();
 
-        classNodes.put(DECRYPT_HELPER_CLASS + ".class", decryptorNode);
+        classPool.addClass(DECRYPT_HELPER_CLASS + ".class", decryptorNode);
     }
 
-    private void transformMethod(MethodNode methodNode) {
+    private static Mode modeFor(int classVersion, int classAccess, Mode configured) {
+        Mode mode = configured == Mode.TABLE && (classAccess & Opcodes.ACC_INTERFACE) != 0 ? Mode.INDY : configured;
+        return mode == Mode.INDY && (classVersion & 0xFFFF) < Opcodes.V1_7 ? Mode.CALL : mode;
+    }
+
+    private int transformMethod(MethodNode methodNode, Random random, Mode mode, StringTable table) {
+        int encrypted = 0;
         for (AbstractInsnNode insn : methodNode.instructions.toArray()) {
             if (insn instanceof LdcInsnNode) {
                 LdcInsnNode ldcInsn = (LdcInsnNode) insn;
                 if (ldcInsn.cst instanceof String) {
-                    String originalString = (String) ldcInsn.cst;
-                    if (originalString.length() > 3) {
-                        int key = random.nextInt();
-                        String encryptedString = encrypt(originalString, key);
-
-                        InsnList newInstructions = new InsnList();
-                        newInstructions.add(new LdcInsnNode(encryptedString));
-                        newInstructions.add(new LdcInsnNode(key));
-                        newInstructions.add(new MethodInsnNode(Opcodes.INVOKESTATIC, DECRYPT_HELPER_CLASS, DECRYPT_METHOD_NAME, DECRYPT_METHOD_DESC, false));
-
+                    InsnList newInstructions = replacement((String) ldcInsn.cst, random, mode, table);
+                    if (newInstructions != null) {
                         methodNode.instructions.insert(ldcInsn, newInstructions);
                         methodNode.instructions.remove(ldcInsn);
+                        encrypted++;
                     }
                 }
             }
         }
+        return encrypted;
+    }
+
+    /**
+     * The instructions that load {@code value} instead of its {@code ldc}, or {@code null} when the
+     * literal is left alone. Literals the table cannot hold are decrypted by a call.
+     */
+    private InsnList replacement(String value, Random random, Mode mode, StringTable table) {
+        if (value.length() <= 3) {
+            return null;
+        }
+
+        InsnList instructions = new InsnList();
+        if (mode == Mode.TABLE) {
+            int index = table.indexOf(value);
+            if (index >= 0) {
+                instructions.add(pushInt(index));
+                instructions.add(new MethodInsnNode(Opcodes.INVOKESTATIC, table.owner, TABLE_LOOKUP_NAME, TABLE_LOOKUP_DESC, false));
+                return instructions;
+            }
+        }
+
+        int key = random.nextInt();
+        String encryptedString = encrypt(value, key);
+        if (mode == Mode.INDY) {
+            instructions.add(new InvokeDynamicInsnNode(INDY_NAME, INDY_DESC, BOOTSTRAP_HANDLE, encryptedString, key));
+        } else {
+            instructions.add(new LdcInsnNode(encryptedString));
+            instructions.add(new LdcInsnNode(key));
+            instructions.add(new MethodInsnNode(Opcodes.INVOKESTATIC, DECRYPT_HELPER_CLASS, DECRYPT_METHOD_NAME, DECRYPT_METHOD_DESC, false));
+        }
+        return instructions;
+    }
+
+    private static AbstractInsnNode pushInt(int value) {
+        if (value >= -1 && value <= 5) {
+            return new InsnNode(Opcodes.ICONST_0 + value);
+        }
+        if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            return new IntInsnNode(Opcodes.BIPUSH, value);
+        }
+        if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            return new IntInsnNode(Opcodes.SIPUSH, value);
+        }
+        return new LdcInsnNode(value);
+    }
+
+    private class EncryptingMethodVisitor extends MethodVisitor {
+        private final Random random;
+        private final Mode mode;
+        private final StringTable table;
+        private final TransformerContext context;
+        private int encrypted;
+
+        EncryptingMethodVisitor(MethodVisitor methodVisitor, Random random, Mode mode, StringTable table, TransformerContext context) {
+            super(Opcodes.ASM9, methodVisitor);
+            this.random = random;
+            this.mode = mode;
+            this.table = table;
+            this.context = context;
+        }
+
+        @Override
+        public void visitLdcInsn(Object value) {
+            InsnList instructions = value instanceof String ? replacement((String) value, random, mode, table) : null;
+            if (instructions != null) {
+                instructions.accept(mv);
+                encrypted++;
+                return;
+            }
+            super.visitLdcInsn(value);
+        }
+
+        @Override
+        public void visitEnd() {
+            count(context, "strings-encrypted", encrypted);
+            super.visitEnd();
+        }
+    }
+
+    /**
+     * The distinct literals of one class. They are written as a volatile {@code String[]} field, a
+     * lookup method the call sites invoke, and a synchronized method that fills the table from
+     * encrypted chunks the first time it is needed. Each chunk holds whole entries, each a length
+     * character followed by the literal.
+     */
+    private class StringTable {
+        private final String owner;
+        private final Map<String, Integer> indices = new LinkedHashMap<>();
+
+        StringTable(String owner) {
+            this.owner = owner;
+        }
+
+        /**
+         * The index of {@code value} in the table, or -1 if it is too long to pack or does not
+         * survive a round trip through UTF-8.
+         */
+        int indexOf(String value) {
+            Integer index = indices.get(value);
+            if (index == null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > MAX_ENTRY_BYTES || !new String(bytes, StandardCharsets.UTF_8).equals(value)) {
+                    return -1;
+                }
+                index = indices.size();
+                indices.put(value, index);
+            }
+            return index;
+        }
+
+        boolean isEmpty() {
+            return indices.isEmpty();
+        }
+
+        int size() {
+            return indices.size();
+        }
+
+        void emit(ClassVisitor cv, int version, Random random) {
+            boolean frames = (version & 0xFFFF) >= Opcodes.V1_6;
+            cv.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_VOLATILE | Opcodes.ACC_SYNTHETIC,
+                    TABLE_FIELD_NAME, TABLE_DESC, null, null).visitEnd();
+
+            // String[] table = TABLE; return (table != null ? table : init())[index];
+            MethodVisitor lookup = cv.visitMethod(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC,
+                    TABLE_LOOKUP_NAME, TABLE_LOOKUP_DESC, null, null);
+            lookup.visitCode();
+            Label loaded = new Label();
+            lookup.visitFieldInsn(Opcodes.GETSTATIC, owner, TABLE_FIELD_NAME, TABLE_DESC);
+            lookup.visitInsn(Opcodes.DUP);
+            lookup.visitJumpInsn(Opcodes.IFNONNULL, loaded);
+            lookup.visitInsn(Opcodes.POP);
+            lookup.visitMethodInsn(Opcodes.INVOKESTATIC, owner, TABLE_INIT_NAME, TABLE_INIT_DESC, false);
+            lookup.visitLabel(loaded);
+            if (frames) {
+                lookup.visitFrame(Opcodes.F_SAME1, 0, null, 1, new Object[]{TABLE_DESC});
+            }
+            lookup.visitVarInsn(Opcodes.ILOAD, 0);
+            lookup.visitInsn(Opcodes.AALOAD);
+            lookup.visitInsn(Opcodes.ARETURN);
+            lookup.visitMaxs(2, 1);
+            lookup.visitEnd();
+
+            MethodVisitor init = cv.visitMethod(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNCHRONIZED | Opcodes.ACC_SYNTHETIC,
+                    TABLE_INIT_NAME, TABLE_INIT_DESC, null, null);
+            init.visitCode();
+            Label done = new Label();
+            init.visitFieldInsn(Opcodes.GETSTATIC, owner, TABLE_FIELD_NAME, TABLE_DESC);
+            init.visitInsn(Opcodes.DUP);
+            init.visitJumpInsn(Opcodes.IFNONNULL, done);
+            init.visitInsn(Opcodes.POP);
+            pushInt(indices.size()).accept(init);
+            init.visitTypeInsn(Opcodes.ANEWARRAY, "java/lang/String");
+
+            StringBuilder chunk = new StringBuilder();
+            int chunkStart = 0;
+            int chunkBytes = 0;
+            int index = 0;
+            for (String value : indices.keySet()) {
+                String entry = (char) value.length() + value;
+                int entryBytes = entry.getBytes(StandardCharsets.UTF_8).length;
+                if (chunkBytes + entryBytes > MAX_CHUNK_BYTES) {
+                    unpack(init, chunk.toString(), chunkStart, random);
+                    chunk.setLength(0);
+                    chunkStart = index;
+                    chunkBytes = 0;
+                }
+                chunk.append(entry);
+                chunkBytes += entryBytes;
+                index++;
+            }
+            unpack(init, chunk.toString(), chunkStart, random);
+
+            init.visitInsn(Opcodes.DUP);
+            init.visitFieldInsn(Opcodes.PUTSTATIC, owner, TABLE_FIELD_NAME, TABLE_DESC);
+            init.visitLabel(done);
+            if (frames) {
+                init.visitFrame(Opcodes.F_SAME1, 0, null, 1, new Object[]{TABLE_DESC});
+            }
+            init.visitInsn(Opcodes.ARETURN);
+            init.visitMaxs(5, 0);
+            init.visitEnd();
+        }
+
+        private void unpack(MethodVisitor mv, String chunk, int start, Random random) {
+            int key = random.nextInt();
+            mv.visitInsn(Opcodes.DUP);
+            pushInt(start).accept(mv);
+            mv.visitLdcInsn(encrypt(chunk, key));
+            pushInt(key).accept(mv);
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, DECRYPT_HELPER_CLASS, UNPACK_METHOD_NAME, UNPACK_METHOD_DESC, false);
+            mv.visitInsn(Opcodes.POP);
+        }
     }
 
     private String encrypt(String input, int key) {
@@ -376,4 +737,26 @@ public class StringTransformer extends AbstractTransformer {
         }
         return Base64.getEncoder().encodeToString(encrypted);
     }
-}
\ No newline at end of file
+
+    /**
+     * How a call site gets its decrypted string.
+     */
+    private enum Mode {
+        CALL,
+        INDY,
+        TABLE;
+
+        static Mode forName(String name) {
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "call":
+                    return CALL;
+                case "indy":
+                    return INDY;
+                case "table":
+                    return TABLE;
+                default:
+                    throw new IllegalArgumentException("Unknown string decryption mode: " + name);
+            }
+        }
+    }
+}
@@ -4,10 +4,14 @@ import dev.revere.obfuscator.config.Configuration;
 import dev.revere.obfuscator.exception.ObfuscationException;
 import dev.revere.obfuscator.logging.Logger;
 import dev.revere.obfuscator.logging.LoggerConfig;
+import dev.revere.obfuscator.overhead.OverheadCommand;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
 import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
 
 import java.io.File;
 import java.io.IOException;
@@ -19,17 +23,21 @@ import java.util.concurrent.Callable;
  * @project revere-java-obfuscator
  * @date 10/18/2024
  */
-@Command(name = "obfuscator", mixinStandardHelpOptions = true, version = "1.0")
+@Command(name = "obfuscator", mixinStandardHelpOptions = true, version = "1.0", subcommands = OverheadCommand.class)
 public class Main implements Callable<Integer> {
     private static final Logger LOGGER = Logger.getLogger(Main.class.getName());
 
-    @Parameters(index = "0", description = "Input jar file to obfuscate")
+    @Spec
+    private CommandSpec spec;
+
+    // Checked in call() rather than declared required, so subcommands can be run without them
+    @Parameters(index = "0", arity = "0..1", description = "Input jar file to obfuscate")
     private File inputFile;
 
-    @Option(names = {"-o", "--output"}, description = "Path to the output jar location", required = true)
+    @Option(names = {"-o", "--output"}, description = "Path to the output jar location")
     private File outputFile;
 
-    @Option(names = {"-cfg", "--config"}, description = "Path to the config file", required = true)
+    @Option(names = {"-cfg", "--config"}, description = "Path to the config file")
     private File configFile;
 
     @Option(names = {"-li", "--libs"}, description = "Path to the libs folder", required = false)
@@ -37,9 +45,15 @@ public class Main implements Callable<Integer> {
 
     @Override
     public Integer call() {
+        if (inputFile == null || outputFile == null || configFile == null) {
+            throw new ParameterException(spec.commandLine(), "Missing required input jar, --output or --config");
+        }
         try {
             LOGGER.process("Starting obfuscation process...");
             Configuration config = Configuration.loadFromFile(Paths.get(configFile.getAbsolutePath()).toString());
+            if (config.isLoggingAsync() || config.getLoggingFile() != null) {
+                LoggerConfig.configureOutput(config.isLoggingAsync(), config.getLoggingFile());
+            }
 
             ObfuscationEngine obfuscationEngine = new ObfuscationEngine(config);
             obfuscationEngine.obfuscate(inputFile.toPath(), outputFile.toPath());
@@ -55,6 +69,7 @@ public class Main implements Callable<Integer> {
     public static void main(String[] args) {
         LoggerConfig.configureLogger();
         int exitCode = new CommandLine(new Main()).execute(args);
+        LoggerConfig.shutdown();
         System.exit(exitCode);
     }
 }
\ No newline at end of file
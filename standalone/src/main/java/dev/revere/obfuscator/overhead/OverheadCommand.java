@@ -0,0 +1,256 @@
+package dev.revere.obfuscator.overhead;
+
+import dev.revere.obfuscator.ObfuscationEngine;
+import dev.revere.obfuscator.config.Configuration;
+import dev.revere.obfuscator.exception.ObfuscationException;
+import dev.revere.obfuscator.logging.Logger;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * Measures what obfuscation costs at runtime. The original and the obfuscated jar each run a
+ * workload entry point in fresh JVMs, alternating between the two probe by probe so drift in the
+ * machine's load affects both alike, and the medians of class-load
+ * time, startup time, steady-state throughput and Metaspace are printed side by side with the jar
+ * sizes. Everything runs locally through {@link OverheadProbe}.
+ * <p>
+ * The entry point must return instead of calling {@code System.exit}, and the renaming transformers
+ * must keep its class and method names.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+@Command(name = "overhead", mixinStandardHelpOptions = true,
+        description = "Compare the runtime cost of an obfuscated jar with the original")
+public class OverheadCommand implements Callable<Integer> {
+    private static final Logger LOGGER = Logger.getLogger(OverheadCommand.class.getName());
+
+    @Parameters(index = "0", description = "Original jar file")
+    private File inputFile;
+
+    @Option(names = {"-cfg", "--config"}, description = "Config to obfuscate the original jar with")
+    private File configFile;
+
+    @Option(names = {"--obfuscated"}, description = "Already obfuscated jar to compare instead of obfuscating")
+    private File obfuscatedFile;
+
+    @Option(names = {"-e", "--entry"}, description = "Workload entry point, <class> for its main method or <class>#<method>; defaults to the Main-Class")
+    private String entry;
+
+    @Option(names = {"-cp", "--classpath"}, description = "Libraries the workload needs, separated by the path separator")
+    private String classpath = "";
+
+    @Option(names = {"-J", "--jvm-arg"}, description = "Argument for the forked JVMs, repeatable")
+    private List<String> jvmArgs = new ArrayList<>();
+
+    @Option(names = {"--runs"}, description = "Forked runs per jar and measurement (default: ${DEFAULT-VALUE})")
+    private int runs = 3;
+
+    @Option(names = {"--warmup"}, description = "Warmup before measuring throughput, in seconds (default: ${DEFAULT-VALUE})")
+    private long warmupSeconds = 5;
+
+    @Option(names = {"--measure"}, description = "Throughput measurement window, in seconds (default: ${DEFAULT-VALUE})")
+    private long measureSeconds = 5;
+
+    private Path probeLocation;
+
+    @Override
+    public Integer call() {
+        try {
+            if ((configFile == null) == (obfuscatedFile == null)) {
+                LOGGER.severe("Error: pass either --config to obfuscate the jar or --obfuscated with an obfuscated jar");
+                return 1;
+            }
+            if (entry == null) {
+                entry = mainClass(inputFile);
+            }
+
+            Path obfuscated = obfuscatedFile != null ? obfuscatedFile.toPath() : obfuscate();
+            List<Map<String, Double>> medians = measure(inputFile.toPath(), obfuscated);
+            Map<String, Double> original = medians.get(0);
+            Map<String, Double> transformed = medians.get(1);
+            original.put("jarBytes", (double) Files.size(inputFile.toPath()));
+            transformed.put("jarBytes", (double) Files.size(obfuscated));
+            printReport(original, transformed);
+            return 0;
+        } catch (IOException | ObfuscationException | InterruptedException e) {
+            LOGGER.severe("Error: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private Path obfuscate() throws IOException, ObfuscationException {
+        Path output = Files.createTempFile("overhead-", ".jar");
+        output.toFile().deleteOnExit();
+        LOGGER.process("Obfuscating {} with {}", inputFile, configFile);
+        Configuration config = Configuration.loadFromFile(configFile.getAbsolutePath());
+        new ObfuscationEngine(config).obfuscate(inputFile.toPath(), output);
+        return output;
+    }
+
+    /**
+     * The median of every metric over {@link #runs} class-load and workload probes of each jar, in
+     * the order the jars are given. Every probe runs once per jar before the next probe starts.
+     */
+    private List<Map<String, Double>> measure(Path... jars) throws IOException, InterruptedException {
+        List<Map<String, List<Double>>> samples = new ArrayList<>();
+        for (int i = 0; i < jars.length; i++) {
+            samples.add(new LinkedHashMap<>());
+        }
+        for (int run = 1; run <= runs; run++) {
+            LOGGER.process("Run {}/{}", run, runs);
+            for (int i = 0; i < jars.length; i++) {
+                addSamples(samples.get(i), probe(jars[i], "classload", jars[i].toAbsolutePath().toString(), classpath));
+            }
+            for (int i = 0; i < jars.length; i++) {
+                addSamples(samples.get(i), probe(jars[i], "workload", entry, String.valueOf(warmupSeconds * 1000),
+                        String.valueOf(measureSeconds * 1000)));
+            }
+        }
+
+        List<Map<String, Double>> medians = new ArrayList<>();
+        for (Map<String, List<Double>> jarSamples : samples) {
+            Map<String, Double> jarMedians = new LinkedHashMap<>();
+            for (Map.Entry<String, List<Double>> metric : jarSamples.entrySet()) {
+                List<Double> values = metric.getValue();
+                Collections.sort(values);
+                jarMedians.put(metric.getKey(), values.get(values.size() / 2));
+            }
+            medians.add(jarMedians);
+        }
+        return medians;
+    }
+
+    private static void addSamples(Map<String, List<Double>> samples, Map<String, Double> result) {
+        for (Map.Entry<String, Double> metric : result.entrySet()) {
+            samples.computeIfAbsent(metric.getKey(), k -> new ArrayList<>()).add(metric.getValue());
+        }
+    }
+
+    private Map<String, Double> probe(Path jar, String... arguments) throws IOException, InterruptedException {
+        StringBuilder probeClasspath = new StringBuilder(jar.toAbsolutePath().toString());
+        if (!classpath.isEmpty()) {
+            probeClasspath.append(File.pathSeparator).append(classpath);
+        }
+        probeClasspath.append(File.pathSeparator).append(probeLocation());
+
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(probeClasspath.toString());
+        command.add(OverheadProbe.class.getName());
+        command.addAll(Arrays.asList(arguments));
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String result = null;
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(OverheadProbe.RESULT_PREFIX)) {
+                    result = line.substring(OverheadProbe.RESULT_PREFIX.length()).trim();
+                } else {
+                    output.append(line).append(System.lineSeparator());
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        if (exitCode != 0 || result == null) {
+            throw new IOException("The " + arguments[0] + " probe of " + jar + " failed with exit code " + exitCode
+                    + ":" + System.lineSeparator() + output);
+        }
+
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        for (String pair : result.split(" ")) {
+            int separator = pair.indexOf('=');
+            metrics.put(pair.substring(0, separator), Double.parseDouble(pair.substring(separator + 1)));
+        }
+        return metrics;
+    }
+
+    /**
+     * A temporary folder holding only the probe class, so the forked JVMs do not see the rest of
+     * the obfuscator and its dependencies.
+     */
+    private String probeLocation() throws IOException {
+        if (probeLocation == null) {
+            String entryName = OverheadProbe.class.getName().replace('.', '/') + ".class";
+            Path folder = Files.createTempDirectory("overhead-probe-");
+            Path classFile = folder.resolve(entryName);
+            List<Path> created = new ArrayList<>();
+            for (Path dir = classFile.getParent(); !dir.equals(folder); dir = dir.getParent()) {
+                created.add(0, dir);
+            }
+            Files.createDirectories(classFile.getParent());
+            try (InputStream in = OverheadProbe.class.getClassLoader().getResourceAsStream(entryName)) {
+                if (in == null) {
+                    throw new IOException("Cannot locate the overhead probe class " + entryName);
+                }
+                Files.copy(in, classFile);
+            }
+            folder.toFile().deleteOnExit();
+            for (Path dir : created) {
+                dir.toFile().deleteOnExit();
+            }
+            classFile.toFile().deleteOnExit();
+            probeLocation = folder;
+        }
+        return probeLocation.toString();
+    }
+
+    private static String mainClass(File jar) throws IOException {
+        try (JarFile jarFile = new JarFile(jar)) {
+            Manifest manifest = jarFile.getManifest();
+            String mainClass = manifest == null ? null : manifest.getMainAttributes().getValue("Main-Class");
+            if (mainClass == null) {
+                throw new IOException(jar + " has no Main-Class, pass the workload with --entry");
+            }
+            return mainClass.trim();
+        }
+    }
+
+    private void printReport(Map<String, Double> original, Map<String, Double> obfuscated) {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Runtime overhead of %s, median of %d runs, workload %s%n", inputFile, runs, entry);
+        System.out.printf(Locale.ROOT, "%-26s %16s %16s %10s%n", "Metric", "Original", "Obfuscated", "Change");
+        printRow("Jar size (KiB)", original, obfuscated, "jarBytes", 1.0 / 1024);
+        printRow("Classes in jar", original, obfuscated, "classes", 1);
+        printRow("Class load (ms)", original, obfuscated, "classLoadNanos", 1e-6);
+        printRow("Startup (ms)", original, obfuscated, "startupMillis", 1);
+        printRow("First call (ms)", original, obfuscated, "firstCallNanos", 1e-6);
+        printRow("Throughput (ops/s)", original, obfuscated, "opsPerSecond", 1);
+        printRow("Metaspace (KiB)", original, obfuscated, "metaspaceBytes", 1.0 / 1024);
+        double failed = obfuscated.getOrDefault("failed", 0.0) + original.getOrDefault("failed", 0.0);
+        if (failed > 0) {
+            System.out.println("Some classes could not be loaded; pass the libraries they need with --classpath");
+        }
+    }
+
+    private static void printRow(String label, Map<String, Double> original, Map<String, Double> obfuscated, String metric, double scale) {
+        Double before = original.get(metric);
+        Double after = obfuscated.get(metric);
+        if (before == null || after == null || before < 0 || after < 0) {
+            System.out.printf(Locale.ROOT, "%-26s %16s %16s %10s%n", label, "n/a", "n/a", "");
+            return;
+        }
+        String change = before == 0 ? "" : String.format(Locale.ROOT, "%+.1f%%", (after / before - 1) * 100);
+        System.out.printf(Locale.ROOT, "%-26s %,16.2f %,16.2f %10s%n", label, before * scale, after * scale, change);
+    }
+}
@@ -0,0 +1,153 @@
+package dev.revere.obfuscator.overhead;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * The forked side of {@link OverheadCommand}. It runs with only the jar under test, its libraries
+ * and this class on the class path, measures one thing and prints the result as a single
+ * {@code OVERHEAD-RESULT key=value ...} line.
+ * <p>
+ * {@code classload <jar> <libraries>} loads and links every class of the jar in a fresh class
+ * loader, so verification is part of the time, without running static initializers.
+ * {@code workload <entry> <warmupMillis> <measureMillis>} calls the entry point once, then
+ * repeatedly for a warmup and a measurement window.
+ *
+ * @author Remi
+ * @project revere-java-obfuscator
+ * @date 10/18/2026
+ */
+public final class OverheadProbe {
+    static final String RESULT_PREFIX = "OVERHEAD-RESULT";
+
+    private OverheadProbe() {
+    }
+
+    public static void main(String[] args) throws Throwable {
+        switch (args[0]) {
+            case "classload":
+                classLoad(new File(args[1]), args.length > 2 ? args[2] : "");
+                break;
+            case "workload":
+                workload(args[1], Long.parseLong(args[2]), Long.parseLong(args[3]));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown probe: " + args[0]);
+        }
+        // The workload may have left non-daemon threads behind
+        System.out.flush();
+        System.exit(0);
+    }
+
+    private static void classLoad(File jar, String libraries) throws IOException {
+        List<URL> urls = new ArrayList<>();
+        urls.add(jar.toURI().toURL());
+        for (String library : libraries.split(File.pathSeparator)) {
+            if (!library.isEmpty()) {
+                urls.add(new File(library).toURI().toURL());
+            }
+        }
+
+        List<String> classNames = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(jar)) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.endsWith(".class") && !name.startsWith("META-INF/") && !name.endsWith("module-info.class")) {
+                    classNames.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+                }
+            }
+        }
+
+        int failed = 0;
+        long start = System.nanoTime();
+        try (URLClassLoader loader = new URLClassLoader(urls.toArray(new URL[0]), ClassLoader.getSystemClassLoader().getParent())) {
+            for (String className : classNames) {
+                try {
+                    // Reflecting methods links, and so verifies, the class
+                    Class.forName(className, false, loader).getDeclaredMethods();
+                } catch (ClassNotFoundException | LinkageError e) {
+                    failed++;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println(RESULT_PREFIX + " classes=" + classNames.size() + " failed=" + failed + " classLoadNanos=" + elapsed);
+    }
+
+    private static void workload(String entry, long warmupMillis, long measureMillis) throws Throwable {
+        Method method = resolve(entry);
+        Object[] arguments = method.getParameterCount() == 0 ? new Object[0] : new Object[]{new String[0]};
+
+        long firstStart = System.nanoTime();
+        invoke(method, arguments);
+        long firstCallNanos = System.nanoTime() - firstStart;
+        long startupMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+
+        long warmupEnd = System.nanoTime() + warmupMillis * 1_000_000L;
+        while (System.nanoTime() < warmupEnd) {
+            invoke(method, arguments);
+        }
+
+        long operations = 0;
+        long measureStart = System.nanoTime();
+        long measureEnd = measureStart + measureMillis * 1_000_000L;
+        long now;
+        do {
+            invoke(method, arguments);
+            operations++;
+            now = System.nanoTime();
+        } while (now < measureEnd);
+        double opsPerSecond = operations * 1e9 / (now - measureStart);
+
+        long metaspace = -1;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getName().equals("Metaspace")) {
+                metaspace = pool.getUsage().getUsed();
+            }
+        }
+        System.out.println(RESULT_PREFIX + " startupMillis=" + startupMillis + " firstCallNanos=" + firstCallNanos
+                + " opsPerSecond=" + opsPerSecond + " metaspaceBytes=" + metaspace);
+    }
+
+    /**
+     * Resolves {@code class} to its {@code main(String[])} and {@code class#method} to a static
+     * method without parameters or taking a {@code String[]}.
+     */
+    private static Method resolve(String entry) throws ClassNotFoundException, NoSuchMethodException {
+        int separator = entry.indexOf('#');
+        Class<?> owner = Class.forName(separator < 0 ? entry : entry.substring(0, separator));
+        String name = separator < 0 ? "main" : entry.substring(separator + 1);
+        Method method;
+        try {
+            method = owner.getDeclaredMethod(name);
+        } catch (NoSuchMethodException e) {
+            method = owner.getDeclaredMethod(name, String[].class);
+        }
+        if (!Modifier.isStatic(method.getModifiers())) {
+            throw new NoSuchMethodException("Workload entry point must be static: " + entry);
+        }
+        method.setAccessible(true);
+        return method;
+    }
+
+    private static void invoke(Method method, Object[] arguments) throws Throwable {
+        try {
+            method.invoke(null, arguments);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}